@@ -0,0 +1,145 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Familias de gramáticas sintéticas para los benchmarks, parametrizadas por tamaño
+ * Cada gramática se devuelve como líneas "A -> α | β" (formato de agregarProduccionNormalizada),
+ * con no terminales <N0>, <N1>, ... en el orden en que los procesa el algoritmo.
+ */
+public final class GeneradorGramaticas {
+
+    private GeneradorGramaticas() {
+    }
+
+    /**
+     * Cadena de recursión indirecta: Ni -> N(i+1) a | b, y el último vuelve a N0
+     * Cada sustitución agrega una alternativa: el último termina con n
+     */
+    public static List<String> cadena(int n) {
+        List<String> lineas = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            lineas.add(nt(i) + " -> " + nt((i + 1) % n) + "a | b");
+        }
+        return lineas;
+    }
+
+    /**
+     * Alternativas anchas: n no terminales en ciclo, cada uno con "ancho" alternativas
+     * de las que solo la primera empieza con el siguiente no terminal; el último
+     * termina con unas n·ancho
+     */
+    public static List<String> ancha(int n, int ancho) {
+        List<String> lineas = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            StringBuilder linea = new StringBuilder(nt(i)).append(" ->");
+            for (int k = 0; k < ancho; k++) {
+                linea.append(k > 0 ? " | " : " ");
+                if (k == 0) {
+                    linea.append(nt((i + 1) % n));
+                }
+                linea.append(terminal(k)).append(terminal(i));
+            }
+            lineas.add(linea.toString());
+        }
+        return lineas;
+    }
+
+    /**
+     * Anidamiento profundo: una sola alternativa por nivel, Ni -> N(i+1) ci; el último
+     * vuelve a N0, así que las sustituciones arman producciones de largo n
+     */
+    public static List<String> profunda(int n) {
+        List<String> lineas = new ArrayList<>(n);
+        for (int i = 0; i < n - 1; i++) {
+            lineas.add(nt(i) + " -> " + nt(i + 1) + terminal(i));
+        }
+        lineas.add(nt(n - 1) + " -> " + nt(0) + "z | y");
+        return lineas;
+    }
+
+    /**
+     * Peor caso exponencial: Ni -> N(i-1) a | N(i-1) b | c duplica las alternativas
+     * de cada nivel al sustituir, así que el último termina con unas 2^n
+     * (N0 -> N(n-1) a | c cierra el ciclo para que todos estén en la misma componente)
+     */
+    public static List<String> exponencial(int n) {
+        List<String> lineas = new ArrayList<>(n);
+        lineas.add(nt(0) + " -> " + nt(n - 1) + "a | c");
+        for (int i = 1; i < n; i++) {
+            lineas.add(nt(i) + " -> " + nt(i - 1) + "a | " + nt(i - 1) + "b | c");
+        }
+        return lineas;
+    }
+
+    /**
+     * Gramática LL(1) anidada, con 2n terminales: Ni -> <ai> N(i+1) <bi> | N(i+1) y el
+     * último N(n-1) -> <a(n-1)> | e. Todos son anulables, y PRIMEROS y SIGUIENTES crecen
+     * linealmente a lo largo de la cadena (en total, cuadráticos en n)
+     */
+    public static List<String> anidada(int n) {
+        List<String> lineas = new ArrayList<>(n);
+        for (int i = 0; i < n - 1; i++) {
+            lineas.add(nt(i) + " -> <a" + i + ">" + nt(i + 1) + "<b" + i + "> | " + nt(i + 1));
+        }
+        lineas.add(nt(n - 1) + " -> <a" + (n - 1) + "> | e");
+        return lineas;
+    }
+
+    /**
+     * Las líneas de un caso "familia/n" de los benchmarks, por ejemplo "cadena/64" o
+     * "ancha/8x16" (con el ancho de las alternativas después de la x; 16 si falta)
+     */
+    public static List<String> generar(String caso) {
+        int barra = caso.indexOf('/');
+        if (barra < 0) {
+            throw new IllegalArgumentException("Caso inválido (se espera familia/n): " + caso);
+        }
+        String familia = caso.substring(0, barra);
+        String tamano = caso.substring(barra + 1);
+        try {
+            switch (familia) {
+                case "cadena":
+                    return cadena(Integer.parseInt(tamano));
+                case "ancha":
+                    int x = tamano.indexOf('x');
+                    if (x < 0) {
+                        return ancha(Integer.parseInt(tamano), 16);
+                    }
+                    return ancha(Integer.parseInt(tamano.substring(0, x)), Integer.parseInt(tamano.substring(x + 1)));
+                case "profunda":
+                    return profunda(Integer.parseInt(tamano));
+                case "exponencial":
+                    return exponencial(Integer.parseInt(tamano));
+                case "anidada":
+                    return anidada(Integer.parseInt(tamano));
+                default:
+                    throw new IllegalArgumentException("Familia desconocida: " + familia);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Tamaño inválido en el caso " + caso, e);
+        }
+    }
+
+    /**
+     * Lee las líneas generadas en una gramática nueva
+     */
+    public static Gramatica construir(List<String> lineas) {
+        Gramatica gramatica = new Gramatica();
+        for (String linea : lineas) {
+            gramatica.agregarProduccionNormalizada(linea);
+        }
+        return gramatica;
+    }
+
+    private static String nt(int i) {
+        return "<N" + i + ">";
+    }
+
+    /**
+     * Terminal de una letra, sin usar 'e' (que es ε)
+     */
+    private static char terminal(int i) {
+        char letra = (char) ('a' + i % 25);
+        return letra >= 'e' ? (char) (letra + 1) : letra;
+    }
+}
@@ -0,0 +1,92 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import rendimiento.OperacionesAnalizadorLL1;
+
+/**
+ * Implementación de las operaciones de rendimiento.BenchmarkAnalizadorLL1:
+ *   expresiones/n   E -> E+T | T, T -> T*F | F, F -> (E) | i sin recursión por la izquierda,
+ *                   con una entrada aleatoria de al menos n tokens
+ *   anidada/n       GeneradorGramaticas.anidada(n): una sola cadena con la pila a profundidad n
+ */
+public class MedicionAnalizadorLL1 implements OperacionesAnalizadorLL1 {
+
+    private AnalizadorLL1 analizador;
+    private int[] tokens;
+
+    @Override
+    public void preparar(String caso) {
+        int barra = caso.indexOf('/');
+        int n = Integer.parseInt(caso.substring(barra + 1));
+        if (caso.startsWith("expresiones/")) {
+            Gramatica expresiones = new EliminadorRecursion().eliminarRecursionIzquierda(
+                    GeneradorGramaticas.construir(List.of("E -> E+T | T", "T -> T*F | F", "F -> (E) | i")));
+            analizador = AnalizadorLL1.crear(expresiones);
+            tokens = expresion(analizador, n, new Random(42));
+        } else if (caso.startsWith("anidada/")) {
+            analizador = AnalizadorLL1.crear(GeneradorGramaticas.construir(GeneradorGramaticas.anidada(n)));
+            tokens = new int[2 * n - 1];
+            for (int i = 0; i < n; i++) {
+                tokens[i] = analizador.token("a" + i);
+            }
+            for (int i = n - 2; i >= 0; i--) {
+                tokens[2 * n - 2 - i] = analizador.token("b" + i);
+            }
+        } else {
+            throw new IllegalArgumentException("Caso desconocido: " + caso);
+        }
+        if (!analizador.reconocer(tokens)) {
+            throw new IllegalStateException("La entrada del caso " + caso + " no es válida: " + analizador.getError());
+        }
+    }
+
+    @Override
+    public int cantidadTokens() {
+        return tokens.length;
+    }
+
+    @Override
+    public boolean reconocer(int trozo) {
+        analizador.reiniciar();
+        boolean valida = true;
+        for (int desde = 0; desde < tokens.length && valida; desde += trozo) {
+            valida = analizador.alimentar(tokens, desde, Math.min(tokens.length, desde + trozo));
+        }
+        return valida && analizador.terminar();
+    }
+
+    /**
+     * Expresión aleatoria válida de al menos "largo" tokens, con paréntesis de hasta 32 niveles
+     */
+    private static int[] expresion(AnalizadorLL1 analizador, int largo, Random aleatorio) {
+        int i = analizador.token("i");
+        int mas = analizador.token("+");
+        int por = analizador.token("*");
+        int abre = analizador.token("(");
+        int cierra = analizador.token(")");
+        int[] tokens = new int[largo + 64];
+        int n = 0;
+        int profundidad = 0;
+        while (true) {
+            // Operando: quizás abre paréntesis, después i
+            while (profundidad < 32 && aleatorio.nextInt(5) == 0) {
+                tokens[n++] = abre;
+                profundidad++;
+            }
+            tokens[n++] = i;
+            while (profundidad > 0 && aleatorio.nextInt(5) == 0) {
+                tokens[n++] = cierra;
+                profundidad--;
+            }
+            if (n >= largo - profundidad) {
+                break;
+            }
+            tokens[n++] = aleatorio.nextBoolean() ? mas : por;
+        }
+        while (profundidad-- > 0) {
+            tokens[n++] = cierra;
+        }
+        return Arrays.copyOf(tokens, n);
+    }
+}
@@ -0,0 +1,72 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import rendimiento.OperacionesArchivoGramatica;
+
+/**
+ * Implementación de las operaciones de rendimiento.BenchmarkArchivoGramatica: la gramática
+ * del caso, sus líneas y un archivo temporal con su formato binario
+ */
+public class MedicionArchivoGramatica implements OperacionesArchivoGramatica {
+
+    private List<String> lineas;
+    private Gramatica gramatica;
+    private Path archivo;
+
+    @Override
+    public void preparar(String caso) {
+        lineas = GeneradorGramaticas.generar(caso);
+        gramatica = GeneradorGramaticas.construir(lineas);
+        try {
+            archivo = Files.createTempFile("gramatica", ".bin");
+            ArchivoGramatica.escribir(gramatica, archivo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void liberar() {
+        try {
+            Files.deleteIfExists(archivo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Object texto() {
+        return GeneradorGramaticas.construir(lineas);
+    }
+
+    @Override
+    public long escribir() throws IOException {
+        ArchivoGramatica.escribir(gramatica, archivo);
+        return Files.size(archivo);
+    }
+
+    @Override
+    public Object vista() throws IOException {
+        return ArchivoGramatica.leer(archivo);
+    }
+
+    @Override
+    public long recorrer() throws IOException {
+        VistaGramatica vista = ArchivoGramatica.leer(archivo);
+        long suma = 0;
+        for (int a = 0; a < vista.cantidadProducciones(); a++) {
+            for (int k = 0; k < vista.longitud(a); k++) {
+                suma += vista.simbolo(a, k);
+            }
+        }
+        return suma;
+    }
+
+    @Override
+    public Object gramatica() throws IOException {
+        return ArchivoGramatica.leer(archivo).aGramatica();
+    }
+}
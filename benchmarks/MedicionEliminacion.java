@@ -0,0 +1,76 @@
+import java.util.List;
+
+import rendimiento.OperacionesEliminacion;
+
+/**
+ * Implementación de las operaciones de rendimiento.BenchmarkEliminacion, en el paquete
+ * por defecto para llegar a sustituirProducciones y eliminarRecursionInmediata
+ */
+public class MedicionEliminacion implements OperacionesEliminacion {
+
+    private List<String> lineas;
+    private Gramatica base;
+    private int[] noTerminales;
+
+    // Entrada de "inmediata": ya sustituida, con ε y los A' registrados de antemano
+    private Gramatica sustituida;
+    private int[] nuevos;
+    private int epsilon;
+
+    @Override
+    public void preparar(String caso) {
+        lineas = GeneradorGramaticas.generar(caso);
+        base = GeneradorGramaticas.construir(lineas);
+        noTerminales = base.obtenerNoTerminales();
+
+        sustituida = base.clonar();
+        sustituirTodo(sustituida, noTerminales);
+        TablaSimbolos simbolos = sustituida.simbolos();
+        epsilon = simbolos.registrar(TablaSimbolos.EPSILON);
+        nuevos = new int[noTerminales.length];
+        for (int i = 0; i < noTerminales.length; i++) {
+            nuevos[i] = simbolos.registrar(simbolos.nombre(noTerminales[i]) + "'");
+        }
+    }
+
+    @Override
+    public Object parseo() {
+        return GeneradorGramaticas.construir(lineas);
+    }
+
+    @Override
+    public Object clonar() {
+        return base.clonar();
+    }
+
+    @Override
+    public Object sustituir() {
+        Gramatica gramatica = base.clonar();
+        sustituirTodo(gramatica, noTerminales);
+        return gramatica;
+    }
+
+    @Override
+    public Object inmediata() {
+        Gramatica gramatica = sustituida.clonar();
+        for (int i = 0; i < noTerminales.length; i++) {
+            if (gramatica.tieneProduccionQueEmpiezaCon(noTerminales[i], noTerminales[i])) {
+                EliminadorRecursion.eliminarRecursionInmediata(gramatica, noTerminales[i], nuevos[i], epsilon);
+            }
+        }
+        return gramatica;
+    }
+
+    @Override
+    public Object completo() {
+        return new EliminadorRecursion().eliminarRecursionIzquierda(base);
+    }
+
+    private static void sustituirTodo(Gramatica gramatica, int[] noTerminales) {
+        for (int i = 0; i < noTerminales.length; i++) {
+            for (int j = 0; j < i; j++) {
+                EliminadorRecursion.sustituirProducciones(gramatica, noTerminales[i], noTerminales[j]);
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+import rendimiento.OperacionesLL1;
+
+/**
+ * Implementación de las operaciones de rendimiento.BenchmarkLL1: las gramáticas
+ * "anidada" se analizan tal cual y las demás después de eliminar su recursión
+ */
+public class MedicionLL1 implements OperacionesLL1 {
+
+    private Gramatica gramatica;
+
+    @Override
+    public void preparar(String caso) {
+        Gramatica generada = GeneradorGramaticas.construir(GeneradorGramaticas.generar(caso));
+        gramatica = caso.startsWith("anidada/")
+                ? generada
+                : new EliminadorRecursion().eliminarRecursionIzquierda(generada);
+    }
+
+    @Override
+    public Object conjuntos() {
+        return AnalisisLL1.calcular(gramatica);
+    }
+
+    @Override
+    public Object tabla() {
+        return AnalisisLL1.calcular(gramatica).construirTabla();
+    }
+}
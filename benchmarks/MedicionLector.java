@@ -0,0 +1,126 @@
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import rendimiento.OperacionesLector;
+
+/**
+ * Implementación de las operaciones de rendimiento.BenchmarkLector: un volcado de
+ * gramática generado, en memoria y en un archivo temporal
+ */
+public class MedicionLector implements OperacionesLector {
+
+    private byte[] datos;
+    private Path archivo;
+
+    @Override
+    public void preparar(String caso) {
+        datos = generar(Integer.parseInt(caso) * 1024L * 1024L, new Random(42));
+        try {
+            archivo = Files.createTempFile("gramatica", ".txt");
+            Files.write(archivo, datos);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void liberar() {
+        try {
+            Files.deleteIfExists(archivo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Object split() throws IOException {
+        return leerConSplit(datos);
+    }
+
+    @Override
+    public Object buffer() {
+        return LectorGramatica.leer(ByteBuffer.wrap(datos));
+    }
+
+    @Override
+    public Object mmap() throws IOException {
+        return LectorGramatica.leer(archivo);
+    }
+
+    /**
+     * Volcado con no terminales <N0>, <N1>, ... y alternativas mezcladas con '|' y espacios
+     */
+    private static byte[] generar(long tamano, Random azar) {
+        StringBuilder texto = new StringBuilder();
+        int noTerminales = 0;
+        while (texto.length() < tamano) {
+            texto.append("<N").append(noTerminales).append("> ->");
+            int alternativas = 1 + azar.nextInt(6);
+            for (int a = 0; a < alternativas; a++) {
+                texto.append(a > 0 && azar.nextBoolean() ? " | " : " ");
+                int largo = 1 + azar.nextInt(8);
+                for (int k = 0; k < largo; k++) {
+                    if (noTerminales > 0 && azar.nextInt(4) == 0) {
+                        texto.append("<N").append(azar.nextInt(noTerminales)).append('>');
+                    } else {
+                        texto.append((char) ('a' + azar.nextInt(26)));
+                    }
+                }
+            }
+            texto.append('\n');
+            noTerminales++;
+        }
+        return texto.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * El camino anterior: una línea por vez con split("->"), replace("|", " ") y split("\\s+")
+     */
+    private static Gramatica leerConSplit(byte[] datos) throws IOException {
+        Gramatica gramatica = new Gramatica();
+        TablaSimbolos simbolos = gramatica.simbolos();
+        BufferedReader lector = new BufferedReader(
+                new InputStreamReader(new ByteArrayInputStream(datos), StandardCharsets.UTF_8));
+        String linea;
+        while ((linea = lector.readLine()) != null) {
+            String[] partes = linea.split("->");
+            int noTerminal = convertirAlternativa(simbolos, partes[0].trim())[0];
+            String[] alternativas = partes[1].trim().replace("|", " ").split("\\s+");
+            List<Produccion> producciones = new ArrayList<>(alternativas.length);
+            for (String alternativa : alternativas) {
+                if (!alternativa.isEmpty()) {
+                    producciones.add(simbolos.producciones().produccion(convertirAlternativa(simbolos, alternativa)));
+                }
+            }
+            gramatica.agregarProduccion(noTerminal, producciones);
+        }
+        return gramatica;
+    }
+
+    private static int[] convertirAlternativa(TablaSimbolos simbolos, String alternativa) {
+        List<Integer> resultado = new ArrayList<>();
+        int i = 0;
+        while (i < alternativa.length()) {
+            char c = alternativa.charAt(i);
+            int cierre = c == '<' ? alternativa.indexOf('>', i + 1) : -1;
+            if (cierre > i + 1) {
+                resultado.add(simbolos.registrar(alternativa.substring(i + 1, cierre)));
+                i = cierre + 1;
+            } else {
+                resultado.add(simbolos.registrar(c));
+                i++;
+            }
+        }
+        return resultado.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
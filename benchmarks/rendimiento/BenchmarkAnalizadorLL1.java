@@ -0,0 +1,70 @@
+package rendimiento;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rendimiento de AnalizadorLL1, el analizador por tabla de la gramática transformada,
+ * con la entrada entera o en trozos de 4096 y de 64 tokens. Además de las operaciones/s,
+ * JMH informa los tokens/s (el contador "tokens"); con -prof gc, gc.alloc.rate.norm
+ * muestra que reconocer no asigna memoria por token:
+ *
+ *   java -jar benchmarks/target/benchmarks.jar BenchmarkAnalizadorLL1 -prof gc
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class BenchmarkAnalizadorLL1 {
+
+    @Param({"expresiones/1000000", "anidada/100", "anidada/4000"})
+    public String caso;
+
+    // Tokens por trozo; "entera" la da en una sola llamada
+    @Param({"entera", "4096", "64"})
+    public String trozo;
+
+    private OperacionesAnalizadorLL1 operaciones;
+    private int tokensPorTrozo;
+
+    /**
+     * Tokens reconocidos, que JMH informa como tasa junto a las operaciones
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Tokens {
+        public long tokens;
+
+        @Setup(Level.Iteration)
+        public void reiniciar() {
+            tokens = 0;
+        }
+    }
+
+    @Setup
+    public void preparar() {
+        operaciones = Operaciones.cargar(OperacionesAnalizadorLL1.class, "MedicionAnalizadorLL1", caso);
+        tokensPorTrozo = trozo.equals("entera") ? operaciones.cantidadTokens() : Integer.parseInt(trozo);
+    }
+
+    @Benchmark
+    public boolean reconocer(Tokens contador) {
+        contador.tokens += operaciones.cantidadTokens();
+        return operaciones.reconocer(tokensPorTrozo);
+    }
+}
@@ -0,0 +1,72 @@
+package rendimiento;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compara cargar una gramática grande desde el texto (agregarProduccionNormalizada)
+ * con el formato binario de ArchivoGramatica. "ancha/1000x1000" es un millón de producciones:
+ *
+ *   java -jar benchmarks/target/benchmarks.jar BenchmarkArchivoGramatica -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class BenchmarkArchivoGramatica {
+
+    @Param({"ancha/100x1000", "ancha/1000x1000"})
+    public String caso;
+
+    private OperacionesArchivoGramatica operaciones;
+
+    @Setup
+    public void preparar() {
+        operaciones = Operaciones.cargar(OperacionesArchivoGramatica.class, "MedicionArchivoGramatica", caso);
+    }
+
+    @TearDown
+    public void liberar() {
+        operaciones.liberar();
+    }
+
+    @Benchmark
+    public Object texto() {
+        return operaciones.texto();
+    }
+
+    @Benchmark
+    public long escribir() throws IOException {
+        return operaciones.escribir();
+    }
+
+    @Benchmark
+    public Object vista() throws IOException {
+        return operaciones.vista();
+    }
+
+    @Benchmark
+    public long recorrer() throws IOException {
+        return operaciones.recorrer();
+    }
+
+    @Benchmark
+    public Object gramatica() throws IOException {
+        return operaciones.gramatica();
+    }
+}
@@ -0,0 +1,73 @@
+package rendimiento;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rendimiento (operaciones/s) de las partes del algoritmo de Paull sobre las familias de
+ * GeneradorGramaticas: cadenas de recursión indirecta, alternativas anchas, anidamiento
+ * profundo y el peor caso exponencial. La asignación de memoria se mide con el perfilador
+ * de JMH:
+ *
+ *   java -jar benchmarks/target/benchmarks.jar BenchmarkEliminacion -prof gc
+ *   java -jar benchmarks/target/benchmarks.jar "BenchmarkEliminacion.completo" -p caso=exponencial/16 -prof gc
+ *
+ * Cada método devuelve su resultado para que JMH lo consuma con su Blackhole.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class BenchmarkEliminacion {
+
+    @Param({"cadena/16", "cadena/64", "cadena/256",
+            "ancha/8x16", "ancha/32x16",
+            "profunda/16", "profunda/64", "profunda/256",
+            "exponencial/8", "exponencial/12"})
+    public String caso;
+
+    private OperacionesEliminacion operaciones;
+
+    @Setup
+    public void preparar() {
+        operaciones = Operaciones.cargar(OperacionesEliminacion.class, "MedicionEliminacion", caso);
+    }
+
+    @Benchmark
+    public Object parseo() {
+        return operaciones.parseo();
+    }
+
+    @Benchmark
+    public Object clonar() {
+        return operaciones.clonar();
+    }
+
+    @Benchmark
+    public Object sustituir() {
+        return operaciones.sustituir();
+    }
+
+    @Benchmark
+    public Object inmediata() {
+        return operaciones.inmediata();
+    }
+
+    @Benchmark
+    public Object completo() {
+        return operaciones.completo();
+    }
+}
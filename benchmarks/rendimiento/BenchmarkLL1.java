@@ -0,0 +1,55 @@
+package rendimiento;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mide AnalisisLL1 (anulables, PRIMEROS y SIGUIENTES) y la construcción de la TablaLL1
+ * sobre gramáticas de miles de símbolos:
+ *   anidada     GeneradorGramaticas.anidada(n): LL(1), conjuntos que crecen con n
+ *   cadena      resultado de eliminar la recursión de GeneradorGramaticas.cadena(n)
+ *   ancha       resultado de eliminar la recursión de GeneradorGramaticas.ancha(n, 16)
+ *
+ *   java -jar benchmarks/target/benchmarks.jar BenchmarkLL1 -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class BenchmarkLL1 {
+
+    @Param({"anidada/250", "anidada/1000", "anidada/4000",
+            "cadena/256", "cadena/1024",
+            "ancha/32x16", "ancha/128x16"})
+    public String caso;
+
+    private OperacionesLL1 operaciones;
+
+    @Setup
+    public void preparar() {
+        operaciones = Operaciones.cargar(OperacionesLL1.class, "MedicionLL1", caso);
+    }
+
+    @Benchmark
+    public Object conjuntos() {
+        return operaciones.conjuntos();
+    }
+
+    @Benchmark
+    public Object tabla() {
+        return operaciones.tabla();
+    }
+}
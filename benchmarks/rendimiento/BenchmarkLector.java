@@ -0,0 +1,63 @@
+package rendimiento;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compara el tiempo de lectura de LectorGramatica con el del camino anterior basado en
+ * String.split, sobre un volcado generado de "megabytes" MB (los bytes/s salen de dividir
+ * el tamaño por el tiempo por operación):
+ *
+ *   java -jar benchmarks/target/benchmarks.jar BenchmarkLector -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class BenchmarkLector {
+
+    @Param({"1", "16"})
+    public String megabytes;
+
+    private OperacionesLector operaciones;
+
+    @Setup
+    public void preparar() {
+        operaciones = Operaciones.cargar(OperacionesLector.class, "MedicionLector", megabytes);
+    }
+
+    @TearDown
+    public void liberar() {
+        operaciones.liberar();
+    }
+
+    @Benchmark
+    public Object split() throws IOException {
+        return operaciones.split();
+    }
+
+    @Benchmark
+    public Object buffer() {
+        return operaciones.buffer();
+    }
+
+    @Benchmark
+    public Object mmap() throws IOException {
+        return operaciones.mmap();
+    }
+}
@@ -0,0 +1,37 @@
+package rendimiento;
+
+/**
+ * Puente entre los benchmarks JMH de este paquete y el código que miden
+ *
+ * JMH no acepta benchmarks en el paquete por defecto, y desde un paquete con nombre no se
+ * ven las clases del paquete por defecto (donde están Gramatica, EliminadorRecursion, ...).
+ * Cada benchmark declara lo que mide en una subinterfaz; la implementación está en el
+ * paquete por defecto y el benchmark la carga por nombre una sola vez, en @Setup.
+ */
+public interface Operaciones {
+
+    /**
+     * Arma las entradas del caso (el @Param del benchmark)
+     */
+    void preparar(String caso);
+
+    /**
+     * Libera lo que haya creado preparar (por ejemplo, archivos temporales)
+     */
+    default void liberar() {
+    }
+
+    /**
+     * Crea la implementación "clase" del paquete por defecto y la prepara para el caso
+     */
+    static <T extends Operaciones> T cargar(Class<T> tipo, String clase, String caso) {
+        T operaciones;
+        try {
+            operaciones = tipo.cast(Class.forName(clase).getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("No se pudo crear " + clase, e);
+        }
+        operaciones.preparar(caso);
+        return operaciones;
+    }
+}
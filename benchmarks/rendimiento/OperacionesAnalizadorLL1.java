@@ -0,0 +1,18 @@
+package rendimiento;
+
+/**
+ * Lo que mide BenchmarkAnalizadorLL1 (implementado por MedicionAnalizadorLL1)
+ */
+public interface OperacionesAnalizadorLL1 extends Operaciones {
+
+    /**
+     * Tokens de la entrada del caso
+     */
+    int cantidadTokens();
+
+    /**
+     * Reconoce la entrada desde el principio, dándosela a AnalizadorLL1 en trozos de
+     * "trozo" tokens; devuelve si es válida
+     */
+    boolean reconocer(int trozo);
+}
@@ -0,0 +1,34 @@
+package rendimiento;
+
+import java.io.IOException;
+
+/**
+ * Lo que mide BenchmarkArchivoGramatica (implementado por MedicionArchivoGramatica)
+ */
+public interface OperacionesArchivoGramatica extends Operaciones {
+
+    /**
+     * Lee las líneas de texto con agregarProduccionNormalizada
+     */
+    Object texto();
+
+    /**
+     * ArchivoGramatica.escribir; devuelve el tamaño del archivo
+     */
+    long escribir() throws IOException;
+
+    /**
+     * ArchivoGramatica.leer (mapea el archivo y valida el CRC y las secciones)
+     */
+    Object vista() throws IOException;
+
+    /**
+     * Vista + lectura de todos los símbolos de la arena; devuelve su suma
+     */
+    long recorrer() throws IOException;
+
+    /**
+     * Vista + VistaGramatica.aGramatica()
+     */
+    Object gramatica() throws IOException;
+}
@@ -0,0 +1,33 @@
+package rendimiento;
+
+/**
+ * Lo que mide BenchmarkEliminacion sobre una gramática de GeneradorGramaticas
+ * (implementado por MedicionEliminacion)
+ */
+public interface OperacionesEliminacion extends Operaciones {
+
+    /**
+     * agregarProduccionNormalizada de todas las líneas
+     */
+    Object parseo();
+
+    /**
+     * Gramatica.clonar()
+     */
+    Object clonar();
+
+    /**
+     * clonar + sustituirProducciones para cada par j &lt; i (sin la recursión inmediata)
+     */
+    Object sustituir();
+
+    /**
+     * clonar + eliminarRecursionInmediata de cada Ai recursivo, después de sustituir
+     */
+    Object inmediata();
+
+    /**
+     * EliminadorRecursion.eliminarRecursionIzquierda
+     */
+    Object completo();
+}
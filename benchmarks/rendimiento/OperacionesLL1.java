@@ -0,0 +1,18 @@
+package rendimiento;
+
+/**
+ * Lo que mide BenchmarkLL1 sobre una gramática sin recursión por la izquierda
+ * (implementado por MedicionLL1)
+ */
+public interface OperacionesLL1 extends Operaciones {
+
+    /**
+     * AnalisisLL1.calcular: anulables, PRIMEROS y SIGUIENTES
+     */
+    Object conjuntos();
+
+    /**
+     * AnalisisLL1.calcular y construirTabla
+     */
+    Object tabla();
+}
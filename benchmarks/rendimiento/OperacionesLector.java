@@ -0,0 +1,24 @@
+package rendimiento;
+
+import java.io.IOException;
+
+/**
+ * Lo que mide BenchmarkLector sobre un volcado de gramática (implementado por MedicionLector)
+ */
+public interface OperacionesLector extends Operaciones {
+
+    /**
+     * El camino anterior: una línea por vez con split("->"), replace("|", " ") y split("\\s+")
+     */
+    Object split() throws IOException;
+
+    /**
+     * LectorGramatica sobre el volcado en un ByteBuffer
+     */
+    Object buffer();
+
+    /**
+     * LectorGramatica sobre el archivo mapeado en memoria
+     */
+    Object mmap() throws IOException;
+}
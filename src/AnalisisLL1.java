@@ -0,0 +1,481 @@
+import java.util.*;
+
+/**
+ * Conjuntos anulable, PRIMEROS y SIGUIENTES de una gramática, para construir su TablaLL1
+ *
+ * Los símbolos se renumeran en forma densa: terminales 0 .. t-1, el fin de entrada ($)
+ * como t y los no terminales desde t+1, en su orden. Cada conjunto es un bitset long[]
+ * sobre los t+1 terminales, y todos viven en un único arreglo plano (uno por no terminal).
+ *
+ * Los puntos fijos usan listas de trabajo: cada inclusión PRIMEROS(B) ⊆ PRIMEROS(A) o
+ * SIGUIENTES(A) ⊆ SIGUIENTES(B) es una arista, y un no terminal se vuelve a procesar solo
+ * cuando su conjunto cambió. Como en el resto del proyecto, 'e' es ε y el no terminal
+ * inicial es el primero.
+ */
+public final class AnalisisLL1 {
+
+    // Símbolo del fin de entrada en los conjuntos que se devuelven
+    public static final int FIN = -1;
+
+    private final Gramatica gramatica;
+
+    // Id de símbolo de cada terminal y de cada no terminal, por su número denso
+    private final int[] terminales;
+    private final int[] noTerminales;
+
+    // Número denso de cada id de símbolo (-1 para ε y los que no aparecen)
+    private final int[] codigos;
+
+    // Alternativas con los símbolos ya renumerados y sin ε: las de noTerminal i son
+    // primeraAlternativa[i] .. primeraAlternativa[i+1]-1
+    private final int[][] alternativas;
+    private final int[] primeraAlternativa;
+
+    private final int palabras;
+    private final boolean[] anulable;
+    private final long[] primeros;
+    private final long[] siguientes;
+
+    private AnalisisLL1(Gramatica gramatica) {
+        this.gramatica = gramatica;
+        TablaSimbolos simbolos = gramatica.simbolos();
+        noTerminales = gramatica.obtenerNoTerminales();
+        int n = noTerminales.length;
+        int epsilon = simbolos.buscar(String.valueOf(TablaSimbolos.EPSILON));
+
+        // Numeración densa: los no terminales se marcan primero y los demás son terminales
+        boolean[] esNoTerminal = new boolean[simbolos.tamano()];
+        for (int noTerminal : noTerminales) {
+            esNoTerminal[noTerminal] = true;
+        }
+        codigos = new int[simbolos.tamano()];
+        Arrays.fill(codigos, -1);
+        int[] terminalesVistos = new int[simbolos.tamano()];
+        int t = 0;
+        int total = 0;
+        for (int noTerminal : noTerminales) {
+            for (Produccion produccion : gramatica.obtenerProducciones(noTerminal)) {
+                total++;
+                for (int simbolo : produccion.aArreglo()) {
+                    if (simbolo != epsilon && !esNoTerminal[simbolo] && codigos[simbolo] < 0) {
+                        codigos[simbolo] = t;
+                        terminalesVistos[t++] = simbolo;
+                    }
+                }
+            }
+        }
+        terminales = Arrays.copyOf(terminalesVistos, t);
+        for (int i = 0; i < n; i++) {
+            codigos[noTerminales[i]] = t + 1 + i;
+        }
+
+        alternativas = new int[total][];
+        primeraAlternativa = new int[n + 1];
+        int a = 0;
+        for (int i = 0; i < n; i++) {
+            primeraAlternativa[i] = a;
+            for (Produccion produccion : gramatica.obtenerProducciones(noTerminales[i])) {
+                int[] cuerpo = produccion.aArreglo();
+                int largo = 0;
+                for (int simbolo : cuerpo) {
+                    if (simbolo != epsilon) {
+                        cuerpo[largo++] = codigos[simbolo];
+                    }
+                }
+                alternativas[a++] = largo == cuerpo.length ? cuerpo : Arrays.copyOf(cuerpo, largo);
+            }
+        }
+        primeraAlternativa[n] = a;
+
+        palabras = (t + 1 + 63) >>> 6;
+        anulable = new boolean[n];
+        primeros = new long[n * palabras];
+        siguientes = new long[n * palabras];
+        if (n > 0) {
+            calcularAnulables();
+            calcularPrimeros();
+            calcularSiguientes();
+        }
+    }
+
+    /**
+     * Calcula los conjuntos de una gramática (que no se modifica)
+     */
+    public static AnalisisLL1 calcular(Gramatica gramatica) {
+        return new AnalisisLL1(gramatica);
+    }
+
+    private int fin() {
+        return terminales.length;
+    }
+
+    private boolean esTerminal(int codigo) {
+        return codigo <= fin();
+    }
+
+    private int noTerminal(int codigo) {
+        return codigo - fin() - 1;
+    }
+
+    /**
+     * Anulables: una alternativa lo es cuando todos sus símbolos son no terminales anulables
+     */
+    private void calcularAnulables() {
+        int n = noTerminales.length;
+        int[] pendientes = new int[alternativas.length];
+        int[] cabeza = new int[alternativas.length];
+        int[] cantidad = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            for (int a = primeraAlternativa[i]; a < primeraAlternativa[i + 1]; a++) {
+                cabeza[a] = i;
+                for (int codigo : alternativas[a]) {
+                    if (esTerminal(codigo)) {
+                        // Con un terminal, la alternativa nunca es anulable
+                        pendientes[a] = Integer.MIN_VALUE / 2;
+                    } else {
+                        pendientes[a]++;
+                        cantidad[noTerminal(codigo) + 1]++;
+                    }
+                }
+            }
+        }
+
+        // Alternativas en las que aparece cada no terminal (una vez por aparición)
+        for (int i = 0; i < n; i++) {
+            cantidad[i + 1] += cantidad[i];
+        }
+        int[] apariciones = new int[cantidad[n]];
+        int[] siguiente = Arrays.copyOf(cantidad, n);
+        for (int a = 0; a < alternativas.length; a++) {
+            for (int codigo : alternativas[a]) {
+                if (!esTerminal(codigo)) {
+                    apariciones[siguiente[noTerminal(codigo)]++] = a;
+                }
+            }
+        }
+
+        int[] trabajo = new int[n];
+        int tope = 0;
+        for (int a = 0; a < alternativas.length; a++) {
+            if (pendientes[a] == 0 && !anulable[cabeza[a]]) {
+                anulable[cabeza[a]] = true;
+                trabajo[tope++] = cabeza[a];
+            }
+        }
+        while (tope > 0) {
+            int i = trabajo[--tope];
+            for (int k = cantidad[i]; k < cantidad[i + 1]; k++) {
+                int a = apariciones[k];
+                if (--pendientes[a] == 0 && !anulable[cabeza[a]]) {
+                    anulable[cabeza[a]] = true;
+                    trabajo[tope++] = cabeza[a];
+                }
+            }
+        }
+    }
+
+    /**
+     * PRIMEROS: los terminales iniciales directos, más PRIMEROS(B) por cada B de un
+     * prefijo anulable (arista B -> A)
+     */
+    private void calcularPrimeros() {
+        Aristas aristas = new Aristas(noTerminales.length);
+        for (int i = 0; i < noTerminales.length; i++) {
+            for (int a = primeraAlternativa[i]; a < primeraAlternativa[i + 1]; a++) {
+                for (int codigo : alternativas[a]) {
+                    if (esTerminal(codigo)) {
+                        marcar(primeros, i, codigo);
+                        break;
+                    }
+                    int b = noTerminal(codigo);
+                    if (b != i) {
+                        aristas.agregar(b, i);
+                    }
+                    if (!anulable[b]) {
+                        break;
+                    }
+                }
+            }
+        }
+        propagar(primeros, aristas.sucesores());
+    }
+
+    /**
+     * SIGUIENTES: $ para el inicial; para cada A -> α B β, PRIMEROS(β) y, si β es
+     * anulable, SIGUIENTES(A) (arista A -> B)
+     */
+    private void calcularSiguientes() {
+        Aristas aristas = new Aristas(noTerminales.length);
+        marcar(siguientes, 0, fin());
+        long[] resto = new long[palabras];
+        for (int i = 0; i < noTerminales.length; i++) {
+            for (int a = primeraAlternativa[i]; a < primeraAlternativa[i + 1]; a++) {
+                // resto = PRIMEROS del sufijo ya recorrido (de derecha a izquierda)
+                Arrays.fill(resto, 0);
+                boolean restoAnulable = true;
+                int[] cuerpo = alternativas[a];
+                for (int k = cuerpo.length - 1; k >= 0; k--) {
+                    int codigo = cuerpo[k];
+                    if (esTerminal(codigo)) {
+                        Arrays.fill(resto, 0);
+                        resto[codigo >>> 6] |= 1L << codigo;
+                        restoAnulable = false;
+                        continue;
+                    }
+                    int b = noTerminal(codigo);
+                    int base = b * palabras;
+                    for (int w = 0; w < palabras; w++) {
+                        siguientes[base + w] |= resto[w];
+                    }
+                    if (restoAnulable && b != i) {
+                        aristas.agregar(i, b);
+                    }
+                    if (anulable[b]) {
+                        for (int w = 0; w < palabras; w++) {
+                            resto[w] |= primeros[base + w];
+                        }
+                    } else {
+                        System.arraycopy(primeros, base, resto, 0, palabras);
+                        restoAnulable = false;
+                    }
+                }
+            }
+        }
+        propagar(siguientes, aristas.sucesores());
+    }
+
+    /**
+     * Punto fijo: conjuntos[destino] |= conjuntos[origen] por cada arista, reprocesando
+     * solo los no terminales cuyo conjunto cambió
+     *
+     * La lista de trabajo empieza en orden topológico de las componentes fuertemente
+     * conexas (Tarjan las numera de los sumideros hacia atrás): fuera de los ciclos,
+     * cada no terminal se procesa una sola vez, después de todos los que le aportan.
+     */
+    private void propagar(long[] conjuntos, int[][] sucesores) {
+        int n = noTerminales.length;
+        int[] componenteDe = PlanEliminacion.tarjan(sucesores);
+        int[] porComponente = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            porComponente[n - componenteDe[i]]++;
+        }
+        for (int c = 0; c < n; c++) {
+            porComponente[c + 1] += porComponente[c];
+        }
+        int[] cola = new int[n];
+        for (int i = 0; i < n; i++) {
+            cola[porComponente[n - 1 - componenteDe[i]]++] = i;
+        }
+
+        boolean[] encolado = new boolean[n];
+        Arrays.fill(encolado, true);
+        int cabeza = 0;
+        int tamano = n;
+        while (tamano > 0) {
+            int origen = cola[cabeza];
+            cabeza = cabeza + 1 == n ? 0 : cabeza + 1;
+            tamano--;
+            encolado[origen] = false;
+            int baseOrigen = origen * palabras;
+            for (int destino : sucesores[origen]) {
+                int baseDestino = destino * palabras;
+                boolean cambio = false;
+                for (int w = 0; w < palabras; w++) {
+                    long antes = conjuntos[baseDestino + w];
+                    long despues = antes | conjuntos[baseOrigen + w];
+                    if (despues != antes) {
+                        conjuntos[baseDestino + w] = despues;
+                        cambio = true;
+                    }
+                }
+                if (cambio && !encolado[destino]) {
+                    encolado[destino] = true;
+                    cola[(cabeza + tamano) % n] = destino;
+                    tamano++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Lista de aristas que se agrupa por origen al terminar
+     */
+    private static final class Aristas {
+        private final int n;
+        private int[] origenes = new int[16];
+        private int[] destinos = new int[16];
+        private int cantidad;
+
+        Aristas(int n) {
+            this.n = n;
+        }
+
+        void agregar(int origen, int destino) {
+            if (cantidad == origenes.length) {
+                origenes = Arrays.copyOf(origenes, cantidad * 2);
+                destinos = Arrays.copyOf(destinos, cantidad * 2);
+            }
+            origenes[cantidad] = origen;
+            destinos[cantidad++] = destino;
+        }
+
+        int[][] sucesores() {
+            int[] grado = new int[n];
+            for (int k = 0; k < cantidad; k++) {
+                grado[origenes[k]]++;
+            }
+            int[][] sucesores = new int[n][];
+            for (int i = 0; i < n; i++) {
+                sucesores[i] = new int[grado[i]];
+                grado[i] = 0;
+            }
+            for (int k = 0; k < cantidad; k++) {
+                sucesores[origenes[k]][grado[origenes[k]]++] = destinos[k];
+            }
+            return sucesores;
+        }
+    }
+
+    private void marcar(long[] conjuntos, int i, int terminal) {
+        conjuntos[i * palabras + (terminal >>> 6)] |= 1L << terminal;
+    }
+
+    /**
+     * Construye la tabla predictiva; las celdas con más de una alternativa se reportan
+     * como conflictos (la celda conserva la primera)
+     */
+    public TablaLL1 construirTabla() {
+        int n = noTerminales.length;
+        int columnas = terminales.length + 1;
+        int[] celdas = new int[n * columnas];
+        Arrays.fill(celdas, -1);
+        Map<Integer, TablaLL1.Conflicto> conflictos = new TreeMap<>();
+        long[] prediccion = new long[palabras];
+
+        for (int i = 0; i < n; i++) {
+            for (int a = primeraAlternativa[i]; a < primeraAlternativa[i + 1]; a++) {
+                // PRIMEROS(α) y, si α es anulable, SIGUIENTES(A)
+                Arrays.fill(prediccion, 0);
+                boolean anulableAlternativa = true;
+                for (int codigo : alternativas[a]) {
+                    if (esTerminal(codigo)) {
+                        prediccion[codigo >>> 6] |= 1L << codigo;
+                        anulableAlternativa = false;
+                        break;
+                    }
+                    int b = noTerminal(codigo);
+                    for (int w = 0; w < palabras; w++) {
+                        prediccion[w] |= primeros[b * palabras + w];
+                    }
+                    if (!anulable[b]) {
+                        anulableAlternativa = false;
+                        break;
+                    }
+                }
+                if (anulableAlternativa) {
+                    for (int w = 0; w < palabras; w++) {
+                        prediccion[w] |= siguientes[i * palabras + w];
+                    }
+                }
+
+                for (int w = 0; w < palabras; w++) {
+                    long bits = prediccion[w];
+                    while (bits != 0) {
+                        int terminal = (w << 6) + Long.numberOfTrailingZeros(bits);
+                        bits &= bits - 1;
+                        int celda = i * columnas + terminal;
+                        if (celdas[celda] < 0) {
+                            celdas[celda] = a;
+                        } else {
+                            int primera = celdas[celda];
+                            conflictos.computeIfAbsent(celda, c -> new TablaLL1.Conflicto(
+                                    noTerminales[c / columnas], simbolo(c % columnas), primera)).agregar(a);
+                        }
+                    }
+                }
+            }
+        }
+        return new TablaLL1(gramatica, terminales, noTerminales, codigos, alternativas, primeraAlternativa,
+                celdas, new ArrayList<>(conflictos.values()));
+    }
+
+    /**
+     * Id de símbolo de un terminal denso (FIN para $)
+     */
+    private int simbolo(int terminal) {
+        return terminal == fin() ? FIN : terminales[terminal];
+    }
+
+    private int posicion(int noTerminal) {
+        int codigo = noTerminal < codigos.length ? codigos[noTerminal] : -1;
+        if (codigo <= fin()) {
+            throw new IllegalArgumentException("No es un no terminal: " + noTerminal);
+        }
+        return noTerminal(codigo);
+    }
+
+    private Set<Integer> conjunto(long[] conjuntos, int i) {
+        Set<Integer> resultado = new LinkedHashSet<>();
+        for (int w = 0; w < palabras; w++) {
+            long bits = conjuntos[i * palabras + w];
+            while (bits != 0) {
+                resultado.add(simbolo((w << 6) + Long.numberOfTrailingZeros(bits)));
+                bits &= bits - 1;
+            }
+        }
+        return resultado;
+    }
+
+    public boolean esAnulable(int noTerminal) {
+        return anulable[posicion(noTerminal)];
+    }
+
+    /**
+     * PRIMEROS del no terminal (ids de terminales; ε no se incluye, ver esAnulable)
+     */
+    public Set<Integer> primeros(int noTerminal) {
+        return conjunto(primeros, posicion(noTerminal));
+    }
+
+    /**
+     * SIGUIENTES del no terminal (ids de terminales y FIN)
+     */
+    public Set<Integer> siguientes(int noTerminal) {
+        return conjunto(siguientes, posicion(noTerminal));
+    }
+
+    /**
+     * Cantidad de terminales distintos (sin contar $)
+     */
+    public int cantidadTerminales() {
+        return terminales.length;
+    }
+
+    String formatearTerminal(int simbolo) {
+        return simbolo == FIN ? "$" : gramatica.formatearSimbolo(simbolo);
+    }
+
+    /**
+     * Una línea por no terminal: "A  anulable  PRIMEROS {a, b}  SIGUIENTES {$}"
+     */
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder();
+        for (int i = 0; i < noTerminales.length; i++) {
+            StringJoiner primerosTexto = new StringJoiner(", ", "{", "}");
+            for (int simbolo : conjunto(primeros, i)) {
+                primerosTexto.add(formatearTerminal(simbolo));
+            }
+            StringJoiner siguientesTexto = new StringJoiner(", ", "{", "}");
+            for (int simbolo : conjunto(siguientes, i)) {
+                siguientesTexto.add(formatearTerminal(simbolo));
+            }
+            texto.append(gramatica.formatearSimbolo(noTerminales[i]))
+                    .append(anulable[i] ? "  anulable" : "")
+                    .append("  PRIMEROS ").append(primerosTexto)
+                    .append("  SIGUIENTES ").append(siguientesTexto)
+                    .append(System.lineSeparator());
+        }
+        return texto.toString();
+    }
+}
@@ -0,0 +1,258 @@
+import java.util.StringJoiner;
+
+/**
+ * Analizador predictivo que reconoce secuencias de tokens con una TablaLL1
+ *
+ * Los tokens son ids de terminales de la tabla de símbolos de la gramática (ver token).
+ * La entrada puede llegar en trozos: alimentar() consume un trozo y conserva la pila
+ * para el siguiente, y terminar() procesa el fin de entrada. El análisis usa solo
+ * arreglos de enteros preparados al crear el analizador (la pila, las celdas de la
+ * tabla y los lados derechos en un único arreglo), así que no asigna memoria por
+ * token; la pila solo crece si la entrada anida más que cualquier entrada anterior.
+ *
+ * Una instancia no es segura para varios hilos, pero puede reutilizarse con reiniciar().
+ */
+public final class AnalizadorLL1 {
+
+    private final TablaLL1 tabla;
+    private final Gramatica gramatica;
+    private final int columnas;
+    private final int[] celdas;
+
+    // Columna de cada id de símbolo (-1 si no es un terminal de la gramática)
+    private final int[] columnaDe;
+
+    // Lados derechos de todas las alternativas, ya invertidos para apilarlos:
+    // los de la alternativa a son cuerpos[inicio[a] .. inicio[a+1])
+    private final int[] cuerpos;
+    private final int[] inicio;
+
+    private int[] pila = new int[64];
+    private int tope;
+
+    private long consumidos;
+    private boolean aceptada;
+
+    // Posición del token con error (-1 si no hubo) y símbolo esperado en ese momento
+    private long posicionError;
+    private int esperado;
+    private int encontrado;
+
+    /**
+     * Prepara el analizador; la tabla no debe tener conflictos
+     */
+    public AnalizadorLL1(Gramatica gramatica, TablaLL1 tabla) {
+        if (!tabla.esLL1()) {
+            throw new IllegalArgumentException("La gramática no es LL(1): la tabla tiene "
+                    + tabla.getConflictos().size() + " conflictos");
+        }
+        this.tabla = tabla;
+        this.gramatica = gramatica;
+        this.columnas = tabla.columnas();
+        this.celdas = tabla.celdas();
+
+        int simbolos = gramatica.simbolos().tamano();
+        columnaDe = new int[simbolos];
+        for (int simbolo = 0; simbolo < simbolos; simbolo++) {
+            columnaDe[simbolo] = tabla.columna(simbolo);
+        }
+
+        int alternativas = tabla.cantidadAlternativas();
+        inicio = new int[alternativas + 1];
+        for (int a = 0; a < alternativas; a++) {
+            inicio[a + 1] = inicio[a] + tabla.cuerpo(a).length;
+        }
+        cuerpos = new int[inicio[alternativas]];
+        for (int a = 0; a < alternativas; a++) {
+            int[] cuerpo = tabla.cuerpo(a);
+            for (int k = 0; k < cuerpo.length; k++) {
+                cuerpos[inicio[a + 1] - 1 - k] = cuerpo[k];
+            }
+        }
+        reiniciar();
+    }
+
+    /**
+     * Crea el analizador de una gramática (calcula su AnalisisLL1 y su tabla)
+     */
+    public static AnalizadorLL1 crear(Gramatica gramatica) {
+        return new AnalizadorLL1(gramatica, AnalisisLL1.calcular(gramatica).construirTabla());
+    }
+
+    /**
+     * Id del terminal con ese nombre, para traducir la entrada a tokens
+     */
+    public int token(String nombre) {
+        int simbolo = gramatica.simbolos().buscar(nombre);
+        if (simbolo < 0 || columnaDe[simbolo] < 0) {
+            throw new IllegalArgumentException("No es un terminal de la gramática: " + nombre);
+        }
+        return simbolo;
+    }
+
+    /**
+     * Vuelve al estado inicial (solo el no terminal inicial en la pila)
+     */
+    public void reiniciar() {
+        tope = 0;
+        if (tabla.cantidadNoTerminales() > 0) {
+            pila[tope++] = columnas;
+        }
+        consumidos = 0;
+        aceptada = false;
+        posicionError = -1;
+    }
+
+    /**
+     * Consume tokens[desde .. hasta); devuelve falso si la entrada ya no puede ser válida
+     * (el error queda en getError() y el resto de la entrada se ignora)
+     */
+    public boolean alimentar(int[] tokens, int desde, int hasta) {
+        if (posicionError >= 0) {
+            return false;
+        }
+        if (aceptada) {
+            throw new IllegalStateException("La entrada ya terminó; use reiniciar()");
+        }
+        int[] pila = this.pila;
+        int tope = this.tope;
+        for (int k = desde; k < hasta; k++) {
+            int token = tokens[k];
+            int columna = token >= 0 && token < columnaDe.length ? columnaDe[token] : -1;
+            while (true) {
+                if (columna < 0 || tope == 0) {
+                    return fallar(k - desde, tope, -1, token);
+                }
+                int cima = pila[--tope];
+                if (cima < columnas) {
+                    if (cima != columna) {
+                        return fallar(k - desde, tope + 1, cima, token);
+                    }
+                    break;
+                }
+                int alternativa = celdas[(cima - columnas) * columnas + columna];
+                if (alternativa < 0) {
+                    return fallar(k - desde, tope + 1, cima, token);
+                }
+                int desdeCuerpo = inicio[alternativa];
+                int largo = inicio[alternativa + 1] - desdeCuerpo;
+                if (tope + largo > pila.length) {
+                    pila = crecer(tope + largo);
+                }
+                System.arraycopy(cuerpos, desdeCuerpo, pila, tope, largo);
+                tope += largo;
+            }
+        }
+        this.tope = tope;
+        consumidos += hasta - desde;
+        return true;
+    }
+
+    /**
+     * Consume todos los tokens del arreglo
+     */
+    public boolean alimentar(int[] tokens) {
+        return alimentar(tokens, 0, tokens.length);
+    }
+
+    /**
+     * Procesa el fin de entrada; devuelve verdadero si todo lo consumido es una cadena del lenguaje
+     */
+    public boolean terminar() {
+        if (posicionError >= 0) {
+            return false;
+        }
+        int fin = columnas - 1;
+        while (tope > 0) {
+            int cima = pila[--tope];
+            int alternativa = cima < columnas ? -1 : celdas[(cima - columnas) * columnas + fin];
+            if (alternativa < 0) {
+                return fallar(0, tope + 1, cima, AnalisisLL1.FIN);
+            }
+            // En $ solo se predicen alternativas anulables: sin terminales
+            int desdeCuerpo = inicio[alternativa];
+            int largo = inicio[alternativa + 1] - desdeCuerpo;
+            if (tope + largo > pila.length) {
+                pila = crecer(tope + largo);
+            }
+            System.arraycopy(cuerpos, desdeCuerpo, pila, tope, largo);
+            tope += largo;
+        }
+        aceptada = true;
+        return true;
+    }
+
+    /**
+     * Reconoce una entrada completa (reinicia el analizador)
+     */
+    public boolean reconocer(int[] tokens) {
+        reiniciar();
+        return alimentar(tokens) && terminar();
+    }
+
+    private int[] crecer(int minimo) {
+        int[] nueva = new int[Math.max(minimo, pila.length * 2)];
+        System.arraycopy(pila, 0, nueva, 0, pila.length);
+        pila = nueva;
+        return nueva;
+    }
+
+    private boolean fallar(int desplazamiento, int tope, int esperado, int encontrado) {
+        this.tope = tope;
+        this.posicionError = consumidos + desplazamiento;
+        this.esperado = esperado;
+        this.encontrado = encontrado;
+        return false;
+    }
+
+    /**
+     * Tokens consumidos hasta ahora
+     */
+    public long getConsumidos() {
+        return consumidos;
+    }
+
+    /**
+     * Posición (desde 0) del token donde falló el análisis, o -1
+     */
+    public long getPosicionError() {
+        return posicionError;
+    }
+
+    /**
+     * Descripción del error, o null si no lo hubo
+     */
+    public String getError() {
+        if (posicionError < 0) {
+            return null;
+        }
+        String nombre = encontrado == AnalisisLL1.FIN ? "fin de entrada"
+                : encontrado >= 0 && encontrado < columnaDe.length ? gramatica.formatearSimbolo(encontrado)
+                : "token " + encontrado;
+        String error = "Error en el token " + posicionError + ": no se esperaba " + nombre;
+        if (esperado < 0) {
+            return error;
+        }
+        if (esperado < columnas) {
+            return error + " (se esperaba " + formatearColumna(esperado) + ")";
+        }
+        // Terminales con los que el no terminal de la cima podía seguir
+        int base = (esperado - columnas) * columnas;
+        StringJoiner opciones = new StringJoiner(", ", " (se esperaba ", ")");
+        for (int columna = 0; columna < columnas; columna++) {
+            if (celdas[base + columna] >= 0) {
+                opciones.add(formatearColumna(columna));
+            }
+        }
+        return error + opciones;
+    }
+
+    private String formatearColumna(int columna) {
+        for (int simbolo = 0; simbolo < columnaDe.length; simbolo++) {
+            if (columnaDe[simbolo] == columna) {
+                return gramatica.formatearSimbolo(simbolo);
+            }
+        }
+        return "fin de entrada";
+    }
+}
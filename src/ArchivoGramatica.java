@@ -0,0 +1,195 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Formato binario de una gramática, para guardarla y cargarla sin volver a leer el texto
+ *
+ * El archivo es una secuencia de enteros de 32 bits en little-endian:
+ *   encabezado   MAGIA, VERSION, símbolos, no terminales, producciones, longitud de la
+ *                arena, bytes de los nombres y el CRC-32 del archivo (calculado con
+ *                este entero en cero)
+ *   nombres      inicio de cada nombre (símbolos + 1 enteros) y los nombres en UTF-8,
+ *                completados con ceros hasta múltiplo de 4; el id de cada símbolo es su posición
+ *   orden        id de cada no terminal, en su orden
+ *   índices      primera alternativa de cada no terminal (no terminales + 1) e inicio de
+ *                cada alternativa en la arena (producciones + 1)
+ *   arena        los símbolos de todas las alternativas, seguidos
+ *
+ * escribir() recorre la gramática una vez y escribe con un FileChannel a través de un
+ * búfer directo reutilizable; leer() mapea el archivo en memoria y devuelve una
+ * VistaGramatica que lee los enteros del mapeo, sin copiarlos. La vista comprueba el
+ * CRC y que las secciones sean coherentes antes de usarlas.
+ */
+public final class ArchivoGramatica {
+
+    // "GRMB" y versión del formato; una versión distinta se rechaza al leer
+    static final int MAGIA = 0x474D5242;
+    static final int VERSION = 2;
+
+    static final int ENCABEZADO = 32;
+
+    // Posición del CRC en el encabezado
+    static final int POSICION_CRC = 28;
+
+    // Tamaño del búfer de escritura
+    private static final int BUFER = 1 << 20;
+
+    private ArchivoGramatica() {
+    }
+
+    /**
+     * Guarda la gramática en el archivo (lo crea o lo reemplaza)
+     */
+    public static void escribir(Gramatica gramatica, Path archivo) throws IOException {
+        TablaSimbolos simbolos = gramatica.simbolos();
+        int[] noTerminales = gramatica.obtenerNoTerminales();
+        int cantidadSimbolos = simbolos.tamano();
+
+        byte[][] nombres = new byte[cantidadSimbolos][];
+        long bytesNombres = 0;
+        for (int simbolo = 0; simbolo < cantidadSimbolos; simbolo++) {
+            nombres[simbolo] = simbolos.nombre(simbolo).getBytes(StandardCharsets.UTF_8);
+            bytesNombres += nombres[simbolo].length;
+        }
+        int producciones = gramatica.cantidadProducciones();
+        long longitudArena = gramatica.cantidadSimbolos();
+        if (bytesNombres > Integer.MAX_VALUE || longitudArena > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("La gramática es demasiado grande para el formato binario");
+        }
+
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Escritor salida = new Escritor(canal);
+            salida.entero(MAGIA);
+            salida.entero(VERSION);
+            salida.entero(cantidadSimbolos);
+            salida.entero(noTerminales.length);
+            salida.entero(producciones);
+            salida.entero((int) longitudArena);
+            salida.entero((int) bytesNombres);
+            salida.entero(0);
+
+            int inicio = 0;
+            salida.entero(inicio);
+            for (byte[] nombre : nombres) {
+                inicio += nombre.length;
+                salida.entero(inicio);
+            }
+            for (byte[] nombre : nombres) {
+                salida.bytes(nombre);
+            }
+            salida.bytes(new byte[(int) (-bytesNombres & 3)]);
+
+            for (int noTerminal : noTerminales) {
+                salida.entero(noTerminal);
+            }
+            int alternativa = 0;
+            salida.entero(alternativa);
+            for (int noTerminal : noTerminales) {
+                alternativa += gramatica.obtenerProducciones(noTerminal).size();
+                salida.entero(alternativa);
+            }
+            int desde = 0;
+            salida.entero(desde);
+            for (int noTerminal : noTerminales) {
+                for (Produccion produccion : gramatica.obtenerProducciones(noTerminal)) {
+                    desde += produccion.longitud();
+                    salida.entero(desde);
+                }
+            }
+            for (int noTerminal : noTerminales) {
+                for (Produccion produccion : gramatica.obtenerProducciones(noTerminal)) {
+                    produccion.recorrer(salida::entero);
+                }
+            }
+            salida.vaciar();
+            ByteBuffer crc = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            crc.putInt((int) salida.crc.getValue()).flip();
+            while (crc.hasRemaining()) {
+                canal.write(crc, POSICION_CRC + crc.position());
+            }
+        } catch (UncheckedIOException e) {
+            // Error de escritura dentro de Produccion.recorrer
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Mapea el archivo en memoria (solo lectura) y devuelve una vista sobre él
+     * El archivo no debe modificarse mientras se use la vista
+     */
+    public static VistaGramatica leer(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            if (canal.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Archivo de gramática demasiado grande: " + archivo);
+            }
+            MappedByteBuffer mapeo = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            // El mapeo sigue siendo válido después de cerrar el canal
+            return new VistaGramatica(mapeo.order(ByteOrder.LITTLE_ENDIAN), archivo.toString());
+        }
+    }
+
+    /**
+     * CRC-32 de todo el archivo, con el lugar del CRC en cero
+     */
+    static int calcularCrc(ByteBuffer datos) {
+        CRC32 crc = new CRC32();
+        crc.update(datos.duplicate().position(0).limit(POSICION_CRC));
+        crc.update(new byte[Integer.BYTES]);
+        crc.update(datos.duplicate().position(ENCABEZADO).limit(datos.capacity()));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Escribe enteros y bytes en el canal a través de un búfer directo, y lleva el CRC
+     */
+    private static final class Escritor {
+        private final FileChannel canal;
+        private final ByteBuffer bufer = ByteBuffer.allocateDirect(BUFER).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32 crc = new CRC32();
+
+        Escritor(FileChannel canal) {
+            this.canal = canal;
+        }
+
+        void entero(int valor) {
+            if (bufer.remaining() < Integer.BYTES) {
+                vaciar();
+            }
+            bufer.putInt(valor);
+        }
+
+        void bytes(byte[] datos) {
+            int desde = 0;
+            while (desde < datos.length) {
+                if (!bufer.hasRemaining()) {
+                    vaciar();
+                }
+                int largo = Math.min(bufer.remaining(), datos.length - desde);
+                bufer.put(datos, desde, largo);
+                desde += largo;
+            }
+        }
+
+        void vaciar() {
+            bufer.flip();
+            crc.update(bufer.duplicate());
+            try {
+                while (bufer.hasRemaining()) {
+                    canal.write(bufer);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            bufer.clear();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caché acotada de resultados de eliminación, segura para varios hilos
+ *
+ * Guarda cada resultado como GramaticaPersistente (inmutable), así que nadie puede
+ * modificar lo que está en la caché: quien lo usa recibe una copia editable en O(1).
+ * Se desaloja el elemento usado hace más tiempo (LRU) cuando se supera la cantidad
+ * máxima de entradas o la cantidad máxima de producciones guardadas en total.
+ */
+public class CacheResultados {
+
+    /**
+     * Resultado guardado junto con los no terminales de la gramática de entrada (en orden)
+     */
+    static final class Entrada {
+        final GramaticaPersistente resultado;
+        final int[] noTerminalesEntrada;
+
+        Entrada(GramaticaPersistente resultado, int[] noTerminalesEntrada) {
+            this.resultado = resultado;
+            this.noTerminalesEntrada = noTerminalesEntrada;
+        }
+    }
+
+    private final int maxEntradas;
+    private final long maxProducciones;
+
+    // En orden de acceso: el primero es el usado hace más tiempo
+    private final LinkedHashMap<String, Entrada> entradas = new LinkedHashMap<>(16, 0.75f, true);
+    private long producciones;
+    private long aciertos;
+    private long fallos;
+    private long desalojos;
+
+    /**
+     * @param maxEntradas     cantidad máxima de resultados guardados
+     * @param maxProducciones cantidad máxima de producciones entre todos los resultados guardados
+     */
+    public CacheResultados(int maxEntradas, long maxProducciones) {
+        if (maxEntradas <= 0 || maxProducciones <= 0) {
+            throw new IllegalArgumentException("Los límites de la caché deben ser mayores a 0");
+        }
+        this.maxEntradas = maxEntradas;
+        this.maxProducciones = maxProducciones;
+    }
+
+    public CacheResultados(int maxEntradas) {
+        this(maxEntradas, Long.MAX_VALUE);
+    }
+
+    /**
+     * Busca un resultado; cuenta un acierto o un fallo
+     */
+    synchronized Entrada obtener(String clave) {
+        Entrada entrada = entradas.get(clave);
+        if (entrada != null) {
+            aciertos++;
+        } else {
+            fallos++;
+        }
+        return entrada;
+    }
+
+    /**
+     * Guarda un resultado y desaloja los más viejos si se superan los límites
+     * Un resultado más grande que el límite de producciones no se guarda
+     */
+    synchronized void guardar(String clave, Entrada entrada) {
+        long tamano = entrada.resultado.cantidadProducciones();
+        if (tamano > maxProducciones) {
+            return;
+        }
+        Entrada anterior = entradas.put(clave, entrada);
+        if (anterior != null) {
+            producciones -= anterior.resultado.cantidadProducciones();
+        }
+        producciones += tamano;
+
+        Iterator<Map.Entry<String, Entrada>> viejas = entradas.entrySet().iterator();
+        while (entradas.size() > maxEntradas || producciones > maxProducciones) {
+            Map.Entry<String, Entrada> vieja = viejas.next();
+            producciones -= vieja.getValue().resultado.cantidadProducciones();
+            viejas.remove();
+            desalojos++;
+        }
+    }
+
+    public synchronized long getAciertos() {
+        return aciertos;
+    }
+
+    public synchronized long getFallos() {
+        return fallos;
+    }
+
+    public synchronized long getDesalojos() {
+        return desalojos;
+    }
+
+    public synchronized int tamano() {
+        return entradas.size();
+    }
+
+    public synchronized long getProducciones() {
+        return producciones;
+    }
+
+    public synchronized void limpiar() {
+        entradas.clear();
+        producciones = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        long consultas = aciertos + fallos;
+        return String.format("caché: %d aciertos, %d fallos (%.1f%%), %d desalojos, %d entradas, %d producciones",
+                aciertos, fallos, consultas > 0 ? 100.0 * aciertos / consultas : 0.0, desalojos,
+                entradas.size(), producciones);
+    }
+}
@@ -0,0 +1,143 @@
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estado de una ejecución con PresupuestoEliminacion o ProgresoEliminacion
+ * Lo comparten todas las componentes, aunque se procesen en paralelo: cada una suma
+ * su crecimiento al total y, cuando una se detiene, las demás se detienen en su
+ * siguiente verificación.
+ */
+final class ControlPresupuesto {
+
+    /**
+     * Detiene la componente en curso; EliminadorRecursion la convierte en EliminacionInterrumpida
+     */
+    static final class Detenida extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        Detenida() {
+            super(null, null, false, false);
+        }
+    }
+
+    private final long maxProducciones;
+    private final int maxLongitud;
+    private final TokenCancelacion cancelacion;
+    private final ProgresoEliminacion progreso;
+    private final long inicio;
+    private final long limite;
+    private final int total;
+
+    private final AtomicLong producciones;
+    private final AtomicInteger procesados = new AtomicInteger();
+
+    // Primer motivo de detención (null mientras la ejecución sigue)
+    private volatile EliminacionInterrumpida.Motivo motivo;
+    private volatile String noTerminal;
+    private volatile long produccionesAlDetener;
+
+    ControlPresupuesto(PresupuestoEliminacion presupuesto, ProgresoEliminacion progreso, int total,
+                       long produccionesIniciales) {
+        this.maxProducciones = presupuesto != null ? presupuesto.getMaxProducciones() : Long.MAX_VALUE;
+        this.maxLongitud = presupuesto != null ? presupuesto.getMaxLongitud() : Integer.MAX_VALUE;
+        this.cancelacion = presupuesto != null ? presupuesto.getCancelacion() : null;
+        this.progreso = progreso;
+        this.inicio = System.nanoTime();
+        long plazo = presupuesto != null && presupuesto.getPlazo() != null
+                ? presupuesto.getPlazo().toNanos() : Long.MAX_VALUE;
+        this.limite = plazo > Long.MAX_VALUE - inicio ? Long.MAX_VALUE : inicio + plazo;
+        this.total = total;
+        this.producciones = new AtomicLong(produccionesIniciales);
+    }
+
+    /**
+     * Verifica cancelación, plazo y si otra componente ya se detuvo
+     */
+    void verificar(Gramatica local, int Ai) {
+        if (motivo != null) {
+            throw new Detenida();
+        }
+        if (cancelacion != null && cancelacion.estaCancelado()) {
+            detener(EliminacionInterrumpida.Motivo.CANCELADA, local, Ai, producciones.get());
+        }
+        if (limite != Long.MAX_VALUE && System.nanoTime() - limite > 0) {
+            detener(EliminacionInterrumpida.Motivo.PLAZO, local, Ai, producciones.get());
+        }
+    }
+
+    /**
+     * Antes de sustituir Aj en Ai: cada Ai -> Aj γ pasa a ser |Aj| producciones, así que el
+     * tamaño resultante se conoce sin construir nada
+     */
+    void antesDeSustituir(Gramatica local, int Ai, int Aj) {
+        verificar(local, Ai);
+        long crecimiento = (long) local.obtenerProduccionesQueEmpiezanCon(Ai, Aj).size()
+                * (local.obtenerProducciones(Aj).size() - 1);
+        long resultante = producciones.get() + crecimiento;
+        if (resultante > maxProducciones) {
+            detener(EliminacionInterrumpida.Motivo.PRODUCCIONES, local, Ai, resultante);
+        }
+    }
+
+    /**
+     * Suma al total lo que creció la copia local desde la última vez; devuelve su tamaño actual
+     */
+    long sumar(Gramatica local, long contadas) {
+        long actuales = local.cantidadProducciones();
+        producciones.addAndGet(actuales - contadas);
+        return actuales;
+    }
+
+    /**
+     * Después de procesar Ai (y de crear su A', si hizo falta): verifica los límites
+     * y avisa el progreso
+     */
+    void despuesDe(Gramatica local, int Ai, int nuevo) {
+        int largo = maximaLongitud(local, Ai);
+        if (nuevo >= 0) {
+            largo = Math.max(largo, maximaLongitud(local, nuevo));
+        }
+        if (largo > maxLongitud) {
+            detener(EliminacionInterrumpida.Motivo.LONGITUD, local, Ai, producciones.get());
+        }
+        if (producciones.get() > maxProducciones) {
+            detener(EliminacionInterrumpida.Motivo.PRODUCCIONES, local, Ai, producciones.get());
+        }
+        int hechos = procesados.incrementAndGet();
+        if (progreso != null) {
+            progreso.procesado(local.simbolos().nombre(Ai), hechos, total, producciones.get());
+        }
+        verificar(local, Ai);
+    }
+
+    private static int maximaLongitud(Gramatica gramatica, int noTerminal) {
+        int maximo = 0;
+        for (Produccion produccion : gramatica.obtenerProducciones(noTerminal)) {
+            maximo = Math.max(maximo, produccion.longitud());
+        }
+        return maximo;
+    }
+
+    private void detener(EliminacionInterrumpida.Motivo motivo, Gramatica local, int Ai, long producciones) {
+        synchronized (this) {
+            if (this.motivo == null) {
+                this.noTerminal = local.simbolos().nombre(Ai);
+                this.produccionesAlDetener = producciones;
+                this.motivo = motivo;
+            }
+        }
+        throw new Detenida();
+    }
+
+    boolean detenida() {
+        return motivo != null;
+    }
+
+    /**
+     * El informe de la detención, con el resultado parcial ya armado
+     */
+    EliminacionInterrumpida interrupcion(GramaticaPersistente parcial) {
+        return new EliminacionInterrumpida(motivo, noTerminal, procesados.get(), total, produccionesAlDetener,
+                System.nanoTime() - inicio, parcial);
+    }
+}
@@ -0,0 +1,67 @@
+import java.util.*;
+
+/**
+ * Cambios a aplicar sobre una gramática: producciones que se agregan o se quitan
+ * Cada cambio es una línea en el formato de agregarProduccionNormalizada ("A -> Ab | c");
+ * se aplican en el orden en que se registraron.
+ */
+public class DeltaGramatica {
+
+    private final List<String> lineas = new ArrayList<>();
+
+    // Para cada línea, si agrega (verdadero) o quita (falso) sus alternativas
+    private final List<Boolean> agrega = new ArrayList<>();
+
+    /**
+     * Agrega las alternativas de la línea (y el no terminal, si es nuevo)
+     */
+    public void agregar(String linea) {
+        lineas.add(linea);
+        agrega.add(true);
+    }
+
+    /**
+     * Quita las alternativas de la línea, que deben existir
+     */
+    public void quitar(String linea) {
+        lineas.add(linea);
+        agrega.add(false);
+    }
+
+    public boolean estaVacio() {
+        return lineas.isEmpty();
+    }
+
+    /**
+     * Aplica los cambios a la gramática y devuelve los no terminales modificados
+     */
+    Set<Integer> aplicar(Gramatica gramatica) {
+        Set<Integer> modificados = new LinkedHashSet<>();
+        for (int k = 0; k < lineas.size(); k++) {
+            // La línea se lee en una gramática auxiliar que usa la misma tabla de símbolos
+            Gramatica cambio = new Gramatica(gramatica.simbolos(), GramaticaPersistente.vacia(gramatica.simbolos()));
+            cambio.agregarProduccionNormalizada(lineas.get(k));
+            int noTerminal = cambio.obtenerNoTerminales()[0];
+            List<Produccion> alternativas = cambio.obtenerProducciones(noTerminal);
+
+            if (agrega.get(k)) {
+                gramatica.agregarProduccion(noTerminal, alternativas);
+            } else {
+                if (!gramatica.contieneNoTerminal(noTerminal)) {
+                    throw new IllegalArgumentException("El no terminal "
+                            + gramatica.formatearSimbolo(noTerminal) + " no existe");
+                }
+                List<Produccion> restantes = new ArrayList<>(gramatica.obtenerProducciones(noTerminal));
+                for (Produccion alternativa : alternativas) {
+                    if (!restantes.remove(alternativa)) {
+                        throw new IllegalArgumentException("La producción " + gramatica.formatearSimbolo(noTerminal)
+                                + " -> " + gramatica.formatear(alternativa) + " no existe");
+                    }
+                }
+                gramatica.reemplazarProducciones(noTerminal, restantes);
+            }
+            modificados.add(noTerminal);
+        }
+        return modificados;
+    }
+}
@@ -0,0 +1,130 @@
+import java.util.*;
+
+/**
+ * Resultado de EliminadorRecursion que se puede actualizar después de editar la entrada
+ *
+ * Guarda la entrada y el resultado como instantáneas, y para cada componente recursiva
+ * sus miembros (en el orden en que se procesaron) y el no terminal nuevo de cada uno.
+ * El resultado de una componente depende solo de las producciones de sus miembros y de
+ * ese orden, así que EliminadorRecursion.reeliminar copia tal cual (con sus Z, Y, ...)
+ * las componentes que un cambio no toca y recalcula solo las demás.
+ */
+public class EliminacionIncremental {
+
+    /**
+     * Componente recursiva ya eliminada
+     */
+    static final class Componente {
+        final int[] miembros;
+
+        // No terminal nuevo que generó cada miembro en el resultado (-1 si no generó ninguno)
+        final int[] nuevos;
+
+        // Si se copió de un resultado anterior en lugar de recalcularse
+        final boolean reutilizada;
+
+        Componente(int[] miembros, int[] nuevos, boolean reutilizada) {
+            this.miembros = miembros;
+            this.nuevos = nuevos;
+            this.reutilizada = reutilizada;
+        }
+    }
+
+    private final GramaticaPersistente entrada;
+    private final GramaticaPersistente resultado;
+    private final List<Componente> componentes;
+    private final int reutilizadas;
+
+    // Componentes de este resultado por su primer miembro (para buscarlas al reeliminar)
+    private final Map<Integer, Componente> porPrimerMiembro;
+
+    // No terminal nuevo que generó cada miembro (solo los que generaron uno)
+    private final Map<Integer, Integer> nuevoDe;
+
+    EliminacionIncremental(GramaticaPersistente entrada, GramaticaPersistente resultado, List<Componente> componentes) {
+        this.entrada = entrada;
+        this.resultado = resultado;
+        this.componentes = componentes;
+        this.porPrimerMiembro = new HashMap<>();
+        this.nuevoDe = new HashMap<>();
+        int copiadas = 0;
+        for (Componente componente : componentes) {
+            porPrimerMiembro.put(componente.miembros[0], componente);
+            for (int k = 0; k < componente.miembros.length; k++) {
+                if (componente.nuevos[k] >= 0) {
+                    nuevoDe.put(componente.miembros[k], componente.nuevos[k]);
+                }
+            }
+            if (componente.reutilizada) {
+                copiadas++;
+            }
+        }
+        this.reutilizadas = copiadas;
+    }
+
+    /**
+     * Devuelve la componente de este resultado que puede copiarse para los miembros dados
+     * (mismos miembros en el mismo orden, ninguno modificado, y no terminales nuevos que el
+     * cambio no usa), o null si hay que recalcularla
+     */
+    Componente reutilizable(int[] miembros, Set<Integer> modificados, Set<Integer> usados) {
+        Componente anterior = porPrimerMiembro.get(miembros[0]);
+        if (anterior == null || !Arrays.equals(anterior.miembros, miembros)) {
+            return null;
+        }
+        for (int k = 0; k < miembros.length; k++) {
+            if (modificados.contains(miembros[k])) {
+                return null;
+            }
+            if (anterior.nuevos[k] >= 0 && usados.contains(anterior.nuevos[k])) {
+                return null;
+            }
+        }
+        return anterior;
+    }
+
+    /**
+     * No terminal nuevo que generó un miembro en este resultado, o -1
+     */
+    int nuevoDe(int noTerminal) {
+        return nuevoDe.getOrDefault(noTerminal, -1);
+    }
+
+    /**
+     * La entrada de la que se obtuvo este resultado
+     */
+    public GramaticaPersistente getEntrada() {
+        return entrada;
+    }
+
+    /**
+     * El resultado (inmutable; editar() da una copia editable en O(1))
+     */
+    public GramaticaPersistente getResultado() {
+        return resultado;
+    }
+
+    /**
+     * Cantidad de componentes recursivas del resultado
+     */
+    public int getComponentes() {
+        return componentes.size();
+    }
+
+    /**
+     * Cuántas de esas componentes se copiaron del resultado anterior sin recalcularlas
+     */
+    public int getReutilizadas() {
+        return reutilizadas;
+    }
+
+    public int getRecalculadas() {
+        return componentes.size() - reutilizadas;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d componentes recursivas: %d reutilizadas, %d recalculadas",
+                componentes.size(), reutilizadas, getRecalculadas());
+    }
+}
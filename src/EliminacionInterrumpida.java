@@ -0,0 +1,90 @@
+/**
+ * La eliminación se detuvo por un límite de PresupuestoEliminacion o por una cancelación
+ *
+ * Trae un resultado parcial válido: la entrada con la recursión ya eliminada en las
+ * componentes que llegaron a terminar (las demás quedan como en la entrada), además
+ * de dónde se detuvo y el tamaño que tenía la gramática en ese momento.
+ */
+public class EliminacionInterrumpida extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Motivo de la interrupción
+     */
+    public enum Motivo {
+        PRODUCCIONES("límite de producciones"),
+        LONGITUD("límite de largo de producción"),
+        PLAZO("plazo vencido"),
+        CANCELADA("cancelada");
+
+        private final String descripcion;
+
+        Motivo(String descripcion) {
+            this.descripcion = descripcion;
+        }
+
+        public String getDescripcion() {
+            return descripcion;
+        }
+    }
+
+    private final Motivo motivo;
+    private final String noTerminal;
+    private final int procesados;
+    private final int total;
+    private final long producciones;
+    private final long nanos;
+    private final GramaticaPersistente parcial;
+
+    public EliminacionInterrumpida(Motivo motivo, String noTerminal, int procesados, int total,
+                                   long producciones, long nanos, GramaticaPersistente parcial) {
+        super("Eliminación interrumpida (" + motivo.getDescripcion() + ")"
+                + (noTerminal != null ? " en " + noTerminal : "")
+                + " después de procesar " + procesados + " de " + total + " no terminales: "
+                + producciones + " producciones, " + String.format("%.3f ms", nanos / 1e6));
+        this.motivo = motivo;
+        this.noTerminal = noTerminal;
+        this.procesados = procesados;
+        this.total = total;
+        this.producciones = producciones;
+        this.nanos = nanos;
+        this.parcial = parcial;
+    }
+
+    public Motivo getMotivo() {
+        return motivo;
+    }
+
+    /**
+     * Nombre del Ai en el que se detuvo (null si se detuvo entre dos Ai)
+     */
+    public String getNoTerminal() {
+        return noTerminal;
+    }
+
+    public int getProcesados() {
+        return procesados;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Producciones que tenía (o iba a tener) la gramática al detenerse
+     */
+    public long getProducciones() {
+        return producciones;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Resultado parcial (equivalente a la entrada), o null si no llegó a armarse
+     */
+    public GramaticaPersistente getParcial() {
+        return parcial;
+    }
+}
@@ -0,0 +1,203 @@
+import java.util.*;
+
+/**
+ * Elimina la recursión por la izquierda con la transformación de esquina izquierda
+ * Basado en Moore, R. C. (2000), "Removing Left Recursion from Context-Free Grammars"
+ *
+ * A diferencia del algoritmo de Paull, el tamaño de la salida es polinomial en el
+ * de la entrada. Se aplican los refinamientos de Moore:
+ * - Solo se transforman los no terminales recursivos por la izquierda (las
+ *   componentes recursivas del PlanEliminacion); el resto queda intacto.
+ * - Solo se usan como "esquina" las producciones recursivas B -> X β (X en la
+ *   misma componente que B); las demás actúan como punto de partida.
+ * - No se crean producciones ε para A-A: se agregan directamente las versiones
+ *   sin A-A, y se descartan los A-X que no son productivos o alcanzables.
+ *
+ * Para cada componente S y cada A en S (A-X se lee "A, ya reconocido un X"):
+ *   A   -> γ A-B   para cada producción no recursiva B -> γ con B en S
+ *   A   -> γ       para cada producción no recursiva A -> γ
+ *   A-X -> β A-B   para cada producción recursiva B -> X β
+ *   A-X -> β       para cada producción recursiva A -> X β
+ */
+public class EliminadorEsquinaIzquierda implements MotorEliminacion {
+
+    @Override
+    public Gramatica eliminarRecursionIzquierda(Gramatica gramaticaOriginal) {
+        Gramatica gramatica = gramaticaOriginal.clonar();
+        int epsilon = gramatica.simbolos().registrar(TablaSimbolos.EPSILON);
+        PlanEliminacion plan = PlanEliminacion.crear(gramatica);
+
+        for (int k = 0; k < plan.cantidadComponentes(); k++) {
+            if (plan.esRecursiva(k)) {
+                transformarComponente(gramatica, plan.componente(k), epsilon);
+            }
+        }
+        return gramatica;
+    }
+
+    /**
+     * Aplica la transformación a una componente recursiva
+     */
+    private void transformarComponente(Gramatica gramatica, int[] miembros, int epsilon) {
+        int m = miembros.length;
+        Map<Integer, Integer> indices = new HashMap<>();
+        for (int k = 0; k < m; k++) {
+            indices.put(miembros[k], k);
+        }
+
+        // Clasificar las producciones de cada miembro antes de modificar nada
+        List<List<Produccion>> noRecursivas = new ArrayList<>(m);
+        List<List<Produccion>> recursivas = new ArrayList<>(m);
+        int[][] esquinaDe = new int[m][];   // por producción recursiva: índice de X en la componente
+        List<Set<Integer>> esquinas = new ArrayList<>(m);   // X tales que B -> X β
+        List<Set<Integer>> usuarios = new ArrayList<>(m);   // B tales que B -> X β
+        for (int k = 0; k < m; k++) {
+            esquinas.add(new LinkedHashSet<>());
+            usuarios.add(new LinkedHashSet<>());
+        }
+        for (int b = 0; b < m; b++) {
+            List<Produccion> propias = new ArrayList<>();
+            List<Produccion> conEsquina = new ArrayList<>();
+            List<Integer> indicesEsquina = new ArrayList<>();
+            for (Produccion produccion : gramatica.obtenerProducciones(miembros[b])) {
+                Integer x = !produccion.esVacia() ? indices.get(produccion.primero()) : null;
+                if (x == null) {
+                    propias.add(produccion);
+                } else {
+                    conEsquina.add(produccion);
+                    indicesEsquina.add(x);
+                    esquinas.get(b).add(x);
+                    usuarios.get(x).add(b);
+                }
+            }
+            noRecursivas.add(propias);
+            recursivas.add(conEsquina);
+            esquinaDe[b] = indicesEsquina.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        TablaProducciones tabla = gramatica.simbolos().producciones();
+        List<List<Produccion>> produccionesMiembros = new ArrayList<>(m);
+        for (int a = 0; a < m; a++) {
+            boolean[] existe = noTerminalesUtiles(a, noRecursivas, esquinas, usuarios);
+
+            // Nombres de los A-X que se van a crear
+            int[] nuevo = new int[m];
+            Arrays.fill(nuevo, -1);
+            for (int x = 0; x < m; x++) {
+                if (existe[x]) {
+                    nuevo[x] = generarNombre(gramatica, miembros[a], miembros[x]);
+                }
+            }
+
+            // A -> γ | γ A-B
+            List<Produccion> produccionesA = new ArrayList<>();
+            for (int b = 0; b < m; b++) {
+                for (Produccion gamma : noRecursivas.get(b)) {
+                    if (b == a) {
+                        produccionesA.add(gamma);
+                    }
+                    if (existe[b]) {
+                        produccionesA.add(tabla.agregarAlFinal(gamma, nuevo[b]));
+                    }
+                }
+            }
+            produccionesMiembros.add(produccionesA);
+
+            // A-X -> β | β A-B, repartidas por X en una sola pasada
+            List<List<Produccion>> produccionesNuevos = new ArrayList<>(m);
+            for (int x = 0; x < m; x++) {
+                produccionesNuevos.add(existe[x] ? new ArrayList<>() : null);
+            }
+            for (int b = 0; b < m; b++) {
+                List<Produccion> conEsquina = recursivas.get(b);
+                for (int p = 0; p < conEsquina.size(); p++) {
+                    int x = esquinaDe[b][p];
+                    if (!existe[x]) {
+                        continue;
+                    }
+                    Produccion beta = tabla.resto(conEsquina.get(p));
+                    if (b == a) {
+                        produccionesNuevos.get(x).add(!beta.esVacia() ? beta : tabla.produccion(epsilon));
+                    }
+                    if (existe[b]) {
+                        produccionesNuevos.get(x).add(tabla.agregarAlFinal(beta, nuevo[b]));
+                    }
+                }
+            }
+            for (int x = 0; x < m; x++) {
+                if (existe[x]) {
+                    gramatica.agregarProduccion(nuevo[x], produccionesNuevos.get(x));
+                }
+            }
+        }
+
+        for (int a = 0; a < m; a++) {
+            gramatica.reemplazarProducciones(miembros[a], produccionesMiembros.get(a));
+        }
+    }
+
+    /**
+     * Decide qué A-X se crean para un A dado
+     * A-X es productivo si desde X se llega a A subiendo por esquinas (X -> B si B -> X β),
+     * y es alcanzable si se llega a él desde algún B con producciones no recursivas
+     */
+    private static boolean[] noTerminalesUtiles(int a, List<List<Produccion>> noRecursivas,
+                                                List<Set<Integer>> esquinas, List<Set<Integer>> usuarios) {
+        int m = noRecursivas.size();
+
+        // Productivos: recorrido hacia atrás desde A por las esquinas
+        boolean[] productivo = new boolean[m];
+        ArrayDeque<Integer> pendientes = new ArrayDeque<>();
+        for (int x : esquinas.get(a)) {
+            if (!productivo[x]) {
+                productivo[x] = true;
+                pendientes.add(x);
+            }
+        }
+        while (!pendientes.isEmpty()) {
+            int y = pendientes.poll();
+            for (int x : esquinas.get(y)) {
+                if (!productivo[x]) {
+                    productivo[x] = true;
+                    pendientes.add(x);
+                }
+            }
+        }
+
+        // Alcanzables: desde los B con producciones no recursivas, subiendo a sus usuarios
+        boolean[] existe = new boolean[m];
+        for (int b = 0; b < m; b++) {
+            if (productivo[b] && !noRecursivas.get(b).isEmpty()) {
+                existe[b] = true;
+                pendientes.add(b);
+            }
+        }
+        while (!pendientes.isEmpty()) {
+            int x = pendientes.poll();
+            for (int b : usuarios.get(x)) {
+                if (productivo[b] && !existe[b]) {
+                    existe[b] = true;
+                    pendientes.add(b);
+                }
+            }
+        }
+        return existe;
+    }
+
+    /**
+     * Registra el no terminal "A-X"; si el nombre ya existe le agrega apóstrofos
+     */
+    private static int generarNombre(Gramatica gramatica, int A, int X) {
+        TablaSimbolos simbolos = gramatica.simbolos();
+        String nombre = simbolos.nombre(A) + "-" + simbolos.nombre(X);
+        while (simbolos.contiene(nombre)) {
+            nombre = nombre + "'";
+        }
+        return simbolos.registrar(nombre);
+    }
+
+    @Override
+    public String nombre() {
+        return "esquina-izquierda";
+    }
+}
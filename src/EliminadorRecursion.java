@@ -1,16 +1,164 @@
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Implementa el algoritmo de eliminación de recursión por la izquierda
  * Basado en el algoritmo de Aho et al. (2006), Sección 4.3.3
  */
-public class EliminadorRecursion {
+public class EliminadorRecursion implements MotorEliminacion {
+
+    // Orden de preferencia para nuevos no terminales
+    private static final char[] ORDEN_NUEVOS_NO_TERMINALES = {'Z', 'Y', 'X', 'W', 'V', 'U', 'T', 'R', 'Q', 'P',
+            'O', 'N', 'M', 'L', 'K', 'J', 'I', 'H', 'G', 'F',
+            'E', 'D', 'C', 'B'};
 
     // Contador para generar nuevos no terminales (Z, Y, X, W, V, ...)
-    private int contadorNoTerminales;
+    private final int[] contadorNoTerminales = {0};
+
+    // Si es verdadero, solo se procesan las componentes fuertemente conexas recursivas
+    private boolean porComponentes;
+
+    // Pool para eliminar en paralelo las componentes independientes (null = secuencial)
+    private ForkJoinPool pool;
+
+    // Orden en que se procesan los no terminales de cada componente
+    private EstrategiaOrden estrategiaOrden;
+
+    // Si es verdadero, se guarda una instantánea de la gramática después de cada Ai
+    private boolean guardarInstantaneas;
+    private List<GramaticaPersistente> instantaneas;
+
+    // Límites de cada ejecución y quién recibe el avance (null = sin límites / sin aviso)
+    private PresupuestoEliminacion presupuesto;
+    private ProgresoEliminacion progreso;
+
+    // Si se miden las ejecuciones, y las métricas de la última
+    private boolean medir;
+    private MetricasEliminacion metricas;
 
     public EliminadorRecursion() {
-        this.contadorNoTerminales = 0;
+        this.porComponentes = true;
+        this.pool = null;
+        this.estrategiaOrden = EstrategiaOrden.ENTRADA;
+    }
+
+    /**
+     * Guarda una instantánea (GramaticaPersistente) de la gramática después de procesar cada Ai
+     * Las instantáneas comparten entre sí todo lo que no cambió, así que guardarlas cuesta O(cambiado)
+     */
+    public void setGuardarInstantaneas(boolean guardarInstantaneas) {
+        this.guardarInstantaneas = guardarInstantaneas;
+    }
+
+    /**
+     * Instantáneas de la última ejecución, una por cada Ai procesado y en orden
+     * (vacía si no se activó setGuardarInstantaneas)
+     */
+    public List<GramaticaPersistente> getInstantaneas() {
+        return instantaneas != null ? Collections.unmodifiableList(instantaneas) : Collections.emptyList();
+    }
+
+    /**
+     * Límites de producciones, largo, tiempo y cancelación de cada ejecución (null = sin límites)
+     * Si se alcanza uno, eliminarRecursionIzquierda lanza EliminacionInterrumpida con el resultado parcial
+     */
+    public void setPresupuesto(PresupuestoEliminacion presupuesto) {
+        this.presupuesto = presupuesto;
+    }
+
+    /**
+     * Recibe el avance después de cada Ai (null = sin aviso)
+     */
+    public void setProgreso(ProgresoEliminacion progreso) {
+        this.progreso = progreso;
+    }
+
+    /**
+     * Activa las métricas (sustituciones, producciones creadas y descartadas, tiempo por Ai, ...)
+     * Desactivadas, el algoritmo no crea ningún objeto para medir; los eventos de Flight
+     * Recorder (EventosEliminacion) se emiten igual si una grabación los habilita
+     */
+    public void setMetricas(boolean medir) {
+        this.medir = medir;
+    }
+
+    /**
+     * Métricas de la última ejecución completa (null si no estaban activas)
+     */
+    public MetricasEliminacion getMetricas() {
+        return metricas;
+    }
+
+    /**
+     * Estrategia con la que se ordenan los no terminales (por defecto, el orden de la entrada)
+     */
+    public void setEstrategiaOrden(EstrategiaOrden estrategiaOrden) {
+        this.estrategiaOrden = estrategiaOrden;
+    }
+
+    /**
+     * Ejecuta el algoritmo con cada estrategia y reporta el tamaño de la gramática resultante,
+     * para elegir el orden que deja la salida más pequeña
+     * Usa la misma configuración (componentes, pool y presupuesto) de este eliminador; una
+     * estrategia que agota el presupuesto queda como interrumpida y no detiene a las demás.
+     * Las métricas e instantáneas de la última ejecución se conservan.
+     */
+    public List<ResultadoEstrategia> compararEstrategias(Gramatica gramatica, List<EstrategiaOrden> estrategias) {
+        EstrategiaOrden estrategiaActual = estrategiaOrden;
+        MetricasEliminacion metricasActuales = metricas;
+        List<GramaticaPersistente> instantaneasActuales = instantaneas;
+        List<ResultadoEstrategia> resultados = new ArrayList<>();
+        try {
+            for (EstrategiaOrden estrategia : estrategias) {
+                estrategiaOrden = estrategia;
+                long inicio = System.nanoTime();
+                try {
+                    Gramatica resultado = eliminarRecursionIzquierda(gramatica);
+                    resultados.add(new ResultadoEstrategia(estrategia, resultado, System.nanoTime() - inicio));
+                } catch (EliminacionInterrumpida e) {
+                    resultados.add(new ResultadoEstrategia(estrategia, e, System.nanoTime() - inicio));
+                }
+            }
+        } finally {
+            estrategiaOrden = estrategiaActual;
+            metricas = metricasActuales;
+            instantaneas = instantaneasActuales;
+        }
+        return resultados;
+    }
+
+    @Override
+    public String nombre() {
+        return "paull";
+    }
+
+    /**
+     * El pool no cambia el resultado, y el presupuesto solo decide si se interrumpe
+     */
+    @Override
+    public String clave() {
+        return nombre() + "/" + estrategiaOrden.nombre() + (porComponentes ? "" : "/completo");
+    }
+
+    /**
+     * Activa o desactiva la descomposición en componentes fuertemente conexas
+     * Desactivada, se recorre el doble ciclo i/j completo sobre todos los no terminales
+     * Activada (por defecto), las producciones que empiezan con un no terminal de otra
+     * componente ya no se sustituyen, así que el resultado puede diferir del doble ciclo
+     * completo aunque sea equivalente
+     */
+    public void setPorComponentes(boolean porComponentes) {
+        this.porComponentes = porComponentes;
+    }
+
+    /**
+     * Pool en el que se eliminan en paralelo las componentes independientes
+     * Con null (valor por defecto) las componentes se procesan una tras otra
+     * El resultado es idéntico en ambos casos
+     */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
     }
 
     /**
@@ -23,50 +171,506 @@ public class EliminadorRecursion {
      *       - Reemplazar cada producción Ai -> Aj γ por Ai -> δ1 γ | δ2 γ | ... | δk γ
      *         donde Aj -> δ1 | δ2 | ... | δk son todas las producciones de Aj
      *    b. Eliminar recursión inmediata de Ai
+     *
+     * Antes se arma un PlanEliminacion: el algoritmo se aplica por separado a cada
+     * componente fuertemente conexa recursiva del grafo de esquina izquierda (con
+     * j restringido a la misma componente) y las demás se dejan intactas.
+     * El orden A1, ..., An dentro de cada componente lo decide la EstrategiaOrden.
      */
+    @Override
     public Gramatica eliminarRecursionIzquierda(Gramatica gramaticaOriginal) {
+        return eliminar(gramaticaOriginal, null, Collections.emptySet(), null);
+    }
+
+    /**
+     * Como eliminarRecursionIzquierda, pero guarda lo necesario para actualizar el
+     * resultado con reeliminar cuando la gramática cambie
+     */
+    public EliminacionIncremental eliminarIncremental(Gramatica gramatica) {
+        GramaticaPersistente entrada = gramatica.instantanea();
+        List<EliminacionIncremental.Componente> componentes = new ArrayList<>();
+        Gramatica resultado = eliminar(entrada.editar(), null, Collections.emptySet(), componentes);
+        return new EliminacionIncremental(entrada, resultado.instantanea(), componentes);
+    }
+
+    /**
+     * Aplica los cambios a la entrada de un resultado anterior y vuelve a eliminar la
+     * recursión recalculando solo las componentes afectadas: las que tienen algún miembro
+     * modificado o cuyos miembros (o su orden) cambiaron. Las demás se copian del resultado
+     * anterior con sus no terminales nuevos, así que la eliminación cuesta según el cambio
+     * y no según el tamaño de la gramática (la planificación, PlanEliminacion.crear y
+     * calcularPosiciones, sigue siendo lineal en la gramática). Los no terminales nuevos de
+     * las componentes recalculadas reciben el primer nombre libre, que puede no ser el de
+     * una ejecución desde cero.
+     *
+     * La entrada nueva usa la tabla de símbolos del resultado anterior, así que los
+     * símbolos que agregue el cambio reciben ids posteriores a todos los de ese resultado
+     * y las componentes copiadas se comparten tal cual, aunque el cambio agregue símbolos.
+     */
+    public EliminacionIncremental reeliminar(EliminacionIncremental previo, DeltaGramatica delta) {
+        Gramatica gramatica = new Gramatica(previo.getResultado().simbolos().copiar(), previo.getEntrada());
+        Set<Integer> modificados = delta.aplicar(gramatica);
+        GramaticaPersistente entrada = gramatica.instantanea();
+
+        List<EliminacionIncremental.Componente> componentes = new ArrayList<>();
+        Gramatica resultado = eliminar(entrada.editar(), previo, modificados, componentes);
+        return new EliminacionIncremental(entrada, resultado.instantanea(), componentes);
+    }
+
+    /**
+     * El algoritmo completo; con "previo", las componentes que no cambiaron se copian de él.
+     * Si "registro" no es null, se le agrega cada componente recursiva con sus no terminales nuevos
+     */
+    private Gramatica eliminar(Gramatica gramaticaOriginal, EliminacionIncremental previo, Set<Integer> modificados,
+                               List<EliminacionIncremental.Componente> registro) {
+        long inicioEjecucion = System.nanoTime();
         Gramatica gramatica = gramaticaOriginal.clonar();
-        List<Character> noTerminales = gramatica.obtenerNoTerminales();
+        int epsilon = gramatica.simbolos().registrar(TablaSimbolos.EPSILON);
+        PlanEliminacion plan = porComponentes ? PlanEliminacion.crear(gramatica) : PlanEliminacion.completo(gramatica);
 
-        // Paso 1: Procesar cada no terminal en orden
-        for (int i = 0; i < noTerminales.size(); i++) {
-            char Ai = noTerminales.get(i);
+        // Orden de procesamiento: componentes en el orden del plan y, dentro de
+        // cada una recursiva, el orden que decida la estrategia
+        List<int[]> componentes = new ArrayList<>(plan.cantidadComponentes());
+        int[] noTerminales = new int[gramatica.obtenerNoTerminales().length];
+        int procesados = 0;
+        for (int k = 0; k < plan.cantidadComponentes(); k++) {
+            int[] componente = plan.esRecursiva(k)
+                    ? estrategiaOrden.ordenar(gramatica, plan.componente(k))
+                    : plan.componente(k);
+            componentes.add(componente);
+            System.arraycopy(componente, 0, noTerminales, procesados, componente.length);
+            procesados += componente.length;
+        }
+        int[] posiciones = calcularPosiciones(gramatica, noTerminales);
+        contadorNoTerminales[0] = 0;
+        Set<Integer> usados = previo == null ? Collections.emptySet() : simbolosUsados(gramaticaOriginal, modificados);
 
-            // Paso 2: Eliminar recursión indirecta
-            for (int j = 0; j < i; j++) {
-                char Aj = noTerminales.get(j);
-                sustituirProducciones(gramatica, Ai, Aj);
+        // Los nuevos no terminales reciben primero ids provisionales (a partir de este valor);
+        // el nombre definitivo se asigna al fusionar, siempre en el mismo orden
+        int baseProvisional = gramatica.simbolos().tamano();
+
+        List<EliminacionComponente> tareas = new ArrayList<>();
+        List<EliminacionComponente> pendientes = new ArrayList<>();
+        for (int k = 0; k < plan.cantidadComponentes(); k++) {
+            if (plan.esRecursiva(k)) {
+                EliminacionIncremental.Componente anterior = previo == null ? null
+                        : previo.reutilizable(componentes.get(k), modificados, usados);
+                EliminacionComponente tarea = anterior != null
+                        ? new EliminacionComponente(anterior)
+                        : new EliminacionComponente(gramatica, componentes.get(k), noTerminales, posiciones,
+                        baseProvisional, epsilon);
+                tareas.add(tarea);
+                if (anterior == null) {
+                    pendientes.add(tarea);
+                }
+            }
+        }
+
+        ControlPresupuesto control = null;
+        if (presupuesto != null || progreso != null) {
+            int total = 0;
+            for (EliminacionComponente tarea : pendientes) {
+                total += tarea.miembros.length;
+            }
+            control = new ControlPresupuesto(presupuesto, progreso, total, gramatica.cantidadProducciones());
+            for (EliminacionComponente tarea : pendientes) {
+                tarea.control = control;
             }
+        }
 
-            // Paso 3: Eliminar recursión inmediata
-            eliminarRecursionInmediata(gramatica, Ai);
+        boolean contar = medir || EventosEliminacion.TIPO_ELIMINACION.isEnabled();
+        if (contar) {
+            for (EliminacionComponente tarea : pendientes) {
+                tarea.registro = new RegistroMetricas(tarea.miembros.length, gramatica.cantidadProducciones());
+            }
         }
 
+        metricas = null;
+        instantaneas = guardarInstantaneas ? new ArrayList<>() : null;
+        try {
+            if (pool != null && pendientes.size() > 1) {
+                pool.invoke(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        invokeAll(pendientes);
+                    }
+                });
+            } else {
+                for (EliminacionComponente tarea : pendientes) {
+                    tarea.eliminar();
+                }
+            }
+        } catch (RuntimeException e) {
+            if (control == null || !control.detenida()) {
+                throw e;
+            }
+            // Resultado parcial: solo las componentes que llegaron a terminar
+            List<EliminacionComponente> terminadas = new ArrayList<>();
+            for (EliminacionComponente tarea : tareas) {
+                if (tarea.terminada) {
+                    terminadas.add(tarea);
+                }
+            }
+            fusionar(gramatica, terminadas, baseProvisional, previo, usados);
+            throw control.interrupcion(gramatica.instantanea());
+        }
+
+        fusionar(gramatica, tareas, baseProvisional, previo, usados);
+        if (contar) {
+            resumirMetricas(gramatica, tareas, noTerminales.length, System.nanoTime() - inicioEjecucion);
+        }
+
+        if (registro != null) {
+            for (EliminacionComponente tarea : tareas) {
+                registro.add(new EliminacionIncremental.Componente(tarea.miembros, tarea.definitivos,
+                        tarea.reutilizada != null));
+            }
+        }
         return gramatica;
     }
 
+    /**
+     * Aplica el algoritmo a una sola componente, sobre una copia propia de la gramática
+     * La copia es persistente (O(1)) y solo se modifican los miembros de la componente,
+     * por lo que varias pueden ejecutarse a la vez en el pool
+     * Si la componente se copia de un resultado anterior ("reutilizada"), no hay nada que ejecutar
+     */
+    private static final class EliminacionComponente extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Gramatica local;
+        private final int[] miembros;
+        private final int[] noTerminales;
+        private final int[] posiciones;
+        private final int epsilon;
+        private final EliminacionIncremental.Componente reutilizada;
+        private int siguienteProvisional;
+
+        // Límites compartidos de la ejecución (null = sin límites) y si la componente ya terminó
+        private ControlPresupuesto control;
+        private volatile boolean terminada;
+
+        // Contadores de la componente (null = sin métricas)
+        private RegistroMetricas registro;
+
+        // Id provisional del nuevo no terminal que creó cada miembro (-1 si no creó ninguno)
+        private final int[] nuevoDe;
+
+        // Id definitivo de cada uno, que se asigna al fusionar
+        private final int[] definitivos;
+
+        EliminacionComponente(Gramatica gramatica, int[] miembros, int[] noTerminales, int[] posiciones,
+                              int baseProvisional, int epsilon) {
+            this.local = gramatica.clonar();
+            this.miembros = miembros;
+            this.noTerminales = noTerminales;
+            this.posiciones = posiciones;
+            this.epsilon = epsilon;
+            this.reutilizada = null;
+            this.siguienteProvisional = baseProvisional;
+            this.nuevoDe = new int[miembros.length];
+            this.definitivos = new int[miembros.length];
+            Arrays.fill(nuevoDe, -1);
+            Arrays.fill(definitivos, -1);
+        }
+
+        EliminacionComponente(EliminacionIncremental.Componente reutilizada) {
+            this.local = null;
+            this.miembros = reutilizada.miembros;
+            this.noTerminales = null;
+            this.posiciones = null;
+            this.epsilon = -1;
+            this.reutilizada = reutilizada;
+            this.nuevoDe = reutilizada.nuevos;
+            this.definitivos = new int[miembros.length];
+            this.terminada = true;
+            Arrays.fill(definitivos, -1);
+        }
+
+        @Override
+        protected void compute() {
+            eliminar();
+        }
+
+        void eliminar() {
+            // Los miembros ocupan posiciones consecutivas a partir de la del primero
+            int inicio = posiciones[miembros[0]];
+
+            long contadas = local.cantidadProducciones();
+
+            // Paso 1: Procesar cada no terminal en orden
+            for (int k = 0; k < miembros.length; k++) {
+                int Ai = miembros[k];
+                int i = posiciones[Ai];
+                if (control != null) {
+                    control.verificar(local, Ai);
+                }
+                long inicioAi = registro != null ? System.nanoTime() : 0;
+                EventosEliminacion.NoTerminal evento = null;
+                if (EventosEliminacion.TIPO_NO_TERMINAL.isEnabled()) {
+                    evento = new EventosEliminacion.NoTerminal();
+                    evento.begin();
+                }
+
+                // Paso 2: Eliminar recursión indirecta
+                // Solo se visitan los Aj (j < i) de la componente con los que empieza alguna
+                // producción de Ai, en orden creciente de j; los demás pares no cambiarían nada
+                int j = siguienteSustitucion(local, Ai, posiciones, inicio - 1, i);
+                while (j >= 0) {
+                    if (control != null) {
+                        control.antesDeSustituir(local, Ai, noTerminales[j]);
+                    }
+                    if (registro != null || EventosEliminacion.TIPO_SUSTITUCION.isEnabled()) {
+                        sustituirMidiendo(Ai, noTerminales[j]);
+                    } else {
+                        sustituirProducciones(local, Ai, noTerminales[j]);
+                    }
+                    if (control != null) {
+                        contadas = control.sumar(local, contadas);
+                    }
+                    j = siguienteSustitucion(local, Ai, posiciones, j, i);
+                }
+
+                // Paso 3: Eliminar recursión inmediata
+                if (local.tieneProduccionQueEmpiezaCon(Ai, Ai)) {
+                    nuevoDe[k] = siguienteProvisional++;
+                    eliminarRecursionInmediata(local, Ai, nuevoDe[k], epsilon);
+                    if (registro != null) {
+                        registro.inmediatas++;
+                        registro.nuevos++;
+                    }
+                }
+
+                if (registro != null) {
+                    registro.tamano(local.cantidadProducciones());
+                    registro.nanosPorMiembro[k] = System.nanoTime() - inicioAi;
+                }
+                if (evento != null) {
+                    evento.end();
+                    evento.noTerminal = local.simbolos().nombre(Ai);
+                    evento.alternativas = local.obtenerProducciones(Ai).size();
+                    evento.recursionInmediata = nuevoDe[k] >= 0;
+                    evento.commit();
+                }
+
+                if (control != null) {
+                    contadas = control.sumar(local, contadas);
+                    control.despuesDe(local, Ai, nuevoDe[k]);
+                }
+            }
+            terminada = true;
+        }
+
+        /**
+         * sustituirProducciones contando lo que crea y descarta (y emitiendo su evento)
+         * Cada Ai -> Aj γ se descarta y da lugar a |Aj| producciones nuevas
+         */
+        private void sustituirMidiendo(int Ai, int Aj) {
+            int descartadas = local.obtenerProduccionesQueEmpiezanCon(Ai, Aj).size();
+            int creadas = descartadas * local.obtenerProducciones(Aj).size();
+            EventosEliminacion.Sustitucion evento = null;
+            if (EventosEliminacion.TIPO_SUSTITUCION.isEnabled()) {
+                evento = new EventosEliminacion.Sustitucion();
+                evento.begin();
+            }
+            sustituirProducciones(local, Ai, Aj);
+            if (registro != null) {
+                if (descartadas > 0) {
+                    registro.sustitucion(creadas, descartadas);
+                }
+                registro.tamano(local.cantidadProducciones());
+            }
+            if (evento != null) {
+                evento.end();
+                evento.noTerminal = local.simbolos().nombre(Ai);
+                evento.sustituido = local.simbolos().nombre(Aj);
+                evento.creadas = creadas;
+                evento.descartadas = descartadas;
+                evento.commit();
+            }
+        }
+    }
+
+    /**
+     * Junta los contadores de las componentes en MetricasEliminacion y emite el evento de la ejecución
+     * El pico se calcula como si las componentes se hubieran procesado una tras otra
+     */
+    private void resumirMetricas(Gramatica gramatica, List<EliminacionComponente> tareas, int noTerminales,
+                                 long nanos) {
+        long sustituciones = 0;
+        long creadas = 0;
+        long descartadas = 0;
+        long inmediatas = 0;
+        long nuevos = 0;
+        long pico = gramatica.cantidadProducciones();
+        long crecimiento = 0;
+        LinkedHashMap<String, Long> nanosPorNoTerminal = new LinkedHashMap<>();
+        for (EliminacionComponente tarea : tareas) {
+            RegistroMetricas r = tarea.registro;
+            if (r == null) {
+                continue;
+            }
+            sustituciones += r.sustituciones;
+            creadas += r.creadas;
+            descartadas += r.descartadas;
+            inmediatas += r.inmediatas;
+            nuevos += r.nuevos;
+            pico = Math.max(pico, r.pico + crecimiento);
+            crecimiento += r.fin - r.inicial;
+            for (int k = 0; k < tarea.miembros.length; k++) {
+                nanosPorNoTerminal.put(gramatica.simbolos().nombre(tarea.miembros[k]), r.nanosPorMiembro[k]);
+            }
+        }
+
+        if (medir) {
+            metricas = new MetricasEliminacion(sustituciones, creadas, descartadas, inmediatas, nuevos, pico, nanos,
+                    nanosPorNoTerminal);
+        }
+        if (EventosEliminacion.TIPO_ELIMINACION.isEnabled()) {
+            EventosEliminacion.Eliminacion evento = new EventosEliminacion.Eliminacion();
+            evento.noTerminales = noTerminales;
+            evento.sustituciones = sustituciones;
+            evento.produccionesCreadas = creadas;
+            evento.produccionesDescartadas = descartadas;
+            evento.noTerminalesNuevos = nuevos;
+            evento.picoProducciones = pico;
+            evento.commit();
+        }
+    }
+
+    /**
+     * Símbolos que aparecen en los no terminales modificados por un cambio (incluidos ellos):
+     * un no terminal nuevo del resultado anterior que esté entre ellos ya no está libre
+     */
+    private static Set<Integer> simbolosUsados(Gramatica gramatica, Set<Integer> modificados) {
+        Set<Integer> usados = new HashSet<>(modificados);
+        for (int noTerminal : modificados) {
+            if (gramatica.contieneNoTerminal(noTerminal)) {
+                for (Produccion produccion : gramatica.obtenerProducciones(noTerminal)) {
+                    produccion.recorrer(usados::add);
+                }
+            }
+        }
+        return usados;
+    }
+
+    /**
+     * Copia a la gramática el resultado de cada componente, Ai por Ai en el orden de procesamiento
+     * (las tareas cubren rangos consecutivos de posiciones y están en orden)
+     * Los nuevos no terminales reciben su nombre en ese mismo orden, que es el del
+     * recorrido secuencial, y se agregan al final
+     *
+     * Con un resultado anterior, la gramática usa su misma tabla de símbolos (ver
+     * reeliminar): las componentes reutilizadas comparten sus producciones y conservan sus
+     * no terminales nuevos, y un Ai recalculado vuelve a usar el que tenía su A' si el
+     * cambio no usa ese nombre ("usados").
+     */
+    private void fusionar(Gramatica gramatica, List<EliminacionComponente> tareas, int baseProvisional,
+                          EliminacionIncremental previo, Set<Integer> usados) {
+        TablaProducciones tabla = gramatica.simbolos().producciones();
+
+        for (EliminacionComponente tarea : tareas) {
+            if (tarea.reutilizada != null) {
+                GramaticaPersistente anterior = previo.getResultado();
+                for (int k = 0; k < tarea.miembros.length; k++) {
+                    int Ai = tarea.miembros[k];
+                    int nuevo = tarea.nuevoDe[k];
+                    tarea.definitivos[k] = nuevo;
+                    gramatica.copiarProducciones(Ai, anterior);
+                    if (nuevo >= 0) {
+                        gramatica.copiarProducciones(nuevo, anterior);
+                    }
+                    if (instantaneas != null) {
+                        instantaneas.add(gramatica.instantanea());
+                    }
+                }
+                continue;
+            }
+
+            int[] definitivos = new int[tarea.siguienteProvisional - baseProvisional];
+            for (int k = 0; k < tarea.miembros.length; k++) {
+                int Ai = tarea.miembros[k];
+                int provisional = tarea.nuevoDe[k];
+                if (provisional >= 0) {
+                    int nuevoAnterior = previo == null ? -1 : previo.nuevoDe(Ai);
+                    tarea.definitivos[k] = nuevoAnterior >= 0 && !usados.contains(nuevoAnterior)
+                            ? nuevoAnterior
+                            : generarNoTerminal(gramatica.simbolos(), contadorNoTerminales);
+                    definitivos[provisional - baseProvisional] = tarea.definitivos[k];
+                }
+
+                gramatica.reemplazarProducciones(Ai,
+                        tabla.reemplazarDesde(tarea.local.obtenerProducciones(Ai), baseProvisional, definitivos));
+                if (provisional >= 0) {
+                    gramatica.agregarProduccion(definitivos[provisional - baseProvisional],
+                            tabla.reemplazarDesde(tarea.local.obtenerProducciones(provisional), baseProvisional,
+                                    definitivos));
+                }
+
+                if (instantaneas != null) {
+                    instantaneas.add(gramatica.instantanea());
+                }
+            }
+        }
+    }
+
+    /**
+     * Posición de cada no terminal en el orden (-1 para los demás símbolos)
+     */
+    private static int[] calcularPosiciones(Gramatica gramatica, int[] noTerminales) {
+        int[] posiciones = new int[gramatica.simbolos().tamano()];
+        Arrays.fill(posiciones, -1);
+        for (int i = 0; i < noTerminales.length; i++) {
+            posiciones[noTerminales[i]] = i;
+        }
+        return posiciones;
+    }
+
+    /**
+     * Busca, entre los primeros símbolos de las producciones de Ai, el no terminal
+     * de menor posición que esté entre desde (exclusive) y hasta (exclusive)
+     * Devuelve su posición, o -1 si no hay ninguno
+     */
+    private static int siguienteSustitucion(Gramatica gramatica, int Ai, int[] posiciones, int desde, int hasta) {
+        int menor = -1;
+        for (int simbolo : gramatica.obtenerPrimerosSimbolos(Ai)) {
+            int posicion = simbolo < posiciones.length ? posiciones[simbolo] : -1;
+            if (posicion > desde && posicion < hasta && (menor < 0 || posicion < menor)) {
+                menor = posicion;
+            }
+        }
+        return menor;
+    }
+
     /**
      * Sustituye las producciones de la forma Ai -> Aj γ
      * por Ai -> δ1 γ | δ2 γ | ... | δk γ
      * donde Aj -> δ1 | δ2 | ... | δk
+     * (visible en el paquete para medirlo en benchmarks/)
      */
-    private void sustituirProducciones(Gramatica gramatica, char Ai, char Aj) {
-        List<String> produccionesAi = gramatica.obtenerProducciones(Ai);
-        List<String> produccionesAj = gramatica.obtenerProducciones(Aj);
-        List<String> nuevasProduccionesAi = new ArrayList<>();
+    static void sustituirProducciones(Gramatica gramatica, int Ai, int Aj) {
+        if (!gramatica.tieneProduccionQueEmpiezaCon(Ai, Aj)) {
+            // Nada que sustituir: se evita reconstruir la lista
+            return;
+        }
+
+        TablaProducciones tabla = gramatica.simbolos().producciones();
+        List<Produccion> produccionesAi = gramatica.obtenerProducciones(Ai);
+        List<Produccion> produccionesAj = gramatica.obtenerProducciones(Aj);
+        List<Produccion> nuevasProduccionesAi = new ArrayList<>(produccionesAi.size() + produccionesAj.size());
 
-        for (String produccion : produccionesAi) {
+        for (Produccion produccion : produccionesAi) {
             // Si la producción comienza con Aj
-            if (!produccion.isEmpty() && produccion.charAt(0) == Aj) {
-                // Obtener el resto de la producción (γ)
-                String gamma = produccion.substring(1);
+            if (!produccion.esVacia() && produccion.primero() == Aj) {
+                // El resto de la producción (γ) es el sufijo que todas las nuevas comparten
+                Produccion gamma = tabla.resto(produccion);
 
-                // Crear nuevas producciones: δ1 γ, δ2 γ, ..., δk γ
-                for (String delta : produccionesAj) {
-                    nuevasProduccionesAi.add(delta + gamma);
+                // Crear nuevas producciones: δ1 γ, δ2 γ, ..., δk γ (un nodo por cada una, sin copiar δ ni γ)
+                for (Produccion delta : produccionesAj) {
+                    nuevasProduccionesAi.add(tabla.concatenar(delta, gamma));
                 }
             } else {
-                // Mantener la producción original
+                // Mantener la producción original (se comparte la misma lista)
                 nuevasProduccionesAi.add(produccion);
             }
         }
@@ -82,43 +686,29 @@ public class EliminadorRecursion {
      *
      * A -> β1A' | β2A' | ... | βnA'
      * A' -> α1A' | α2A' | ... | αmA' | ε
+     *
+     * Se llama solo si A tiene recursión inmediata; nuevoNoTerminal es el A' ya generado
      */
-    private void eliminarRecursionInmediata(Gramatica gramatica, char A) {
-        List<String> producciones = gramatica.obtenerProducciones(A);
-        List<String> alfa = new ArrayList<>();  // Producciones recursivas (sin el A inicial)
-        List<String> beta = new ArrayList<>();  // Producciones no recursivas
+    static void eliminarRecursionInmediata(Gramatica gramatica, int A, int nuevoNoTerminal, int epsilon) {
+        TablaProducciones tabla = gramatica.simbolos().producciones();
+        List<Produccion> producciones = gramatica.obtenerProducciones(A);
+
+        List<Produccion> nuevasProduccionesA = new ArrayList<>();
+        List<Produccion> produccionesNuevoNoTerminal = new ArrayList<>();
 
-        // Clasificar las producciones
-        for (String produccion : producciones) {
-            if (!produccion.isEmpty() && produccion.charAt(0) == A) {
-                // Producción recursiva: A -> Aα
-                alfa.add(produccion.substring(1));
+        // Clasificar las producciones; agregar A' al final crea un solo nodo por producción
+        for (Produccion produccion : producciones) {
+            if (!produccion.esVacia() && produccion.primero() == A) {
+                // Producción recursiva: A -> Aα, genera A' -> αA'
+                produccionesNuevoNoTerminal.add(tabla.agregarAlFinal(tabla.resto(produccion), nuevoNoTerminal));
             } else {
-                // Producción no recursiva: A -> β
-                beta.add(produccion);
+                // Producción no recursiva: A -> β, genera A -> βA'
+                nuevasProduccionesA.add(tabla.agregarAlFinal(produccion, nuevoNoTerminal));
             }
         }
 
-        // Si no hay recursión inmediata, no hacer nada
-        if (alfa.isEmpty()) {
-            return;
-        }
-
-        // Generar un nuevo no terminal
-        char nuevoNoTerminal = generarNuevoNoTerminal(gramatica);
-
-        // Crear nuevas producciones para A: β1A' | β2A' | ... | βnA'
-        List<String> nuevasProduccionesA = new ArrayList<>();
-        for (String b : beta) {
-            nuevasProduccionesA.add(b + nuevoNoTerminal);
-        }
-
-        // Crear producciones para A': α1A' | α2A' | ... | αmA' | ε
-        List<String> produccionesNuevoNoTerminal = new ArrayList<>();
-        for (String a : alfa) {
-            produccionesNuevoNoTerminal.add(a + nuevoNoTerminal);
-        }
-        produccionesNuevoNoTerminal.add("e");  // ε representado como 'e'
+        // A' -> ε
+        produccionesNuevoNoTerminal.add(tabla.produccion(epsilon));
 
         // Actualizar la gramática
         gramatica.reemplazarProducciones(A, nuevasProduccionesA);
@@ -126,23 +716,27 @@ public class EliminadorRecursion {
     }
 
     /**
-     * Genera un nuevo no terminal que no exista en la gramática
+     * Genera un nuevo no terminal que no exista en la tabla
      * Usa el orden: Z, Y, X, W, V, U, T, R, Q, P, O, N, M, L, K, J, I, H, G, F, E, D, C, B
+     * Cuando se agotan, continúa con Z1, Y1, ..., B1, Z2, ...
      */
-    private char generarNuevoNoTerminal(Gramatica gramatica) {
-        // Orden de preferencia para nuevos no terminales
-        char[] orden = {'Z', 'Y', 'X', 'W', 'V', 'U', 'T', 'R', 'Q', 'P',
-                'O', 'N', 'M', 'L', 'K', 'J', 'I', 'H', 'G', 'F',
-                'E', 'D', 'C', 'B'};
-
-        for (char c : orden) {
-            if (!gramatica.contieneNoTerminal(c)) {
-                return c;
+    static int generarNoTerminal(TablaSimbolos simbolos, int[] contador) {
+        // contador[0] avanza sobre la secuencia de candidatos; como los nombres
+        // solo se agregan, un candidato descartado no vuelve a quedar libre
+        while (true) {
+            String candidato = nombreCandidato(contador[0]++);
+            if (!simbolos.contiene(candidato)) {
+                return simbolos.registrar(candidato);
             }
         }
+    }
 
-        // Si todos están ocupados (caso muy raro), usar números
-        throw new RuntimeException("Se agotaron los no terminales disponibles");
+    /**
+     * Nombre del candidato número n en la secuencia Z, Y, ..., B, Z1, Y1, ..., B1, Z2, ...
+     */
+    static String nombreCandidato(int n) {
+        char letra = ORDEN_NUEVOS_NO_TERMINALES[n % ORDEN_NUEVOS_NO_TERMINALES.length];
+        int vuelta = n / ORDEN_NUEVOS_NO_TERMINALES.length;
+        return vuelta == 0 ? String.valueOf(letra) : letra + String.valueOf(vuelta);
     }
 }
-
@@ -0,0 +1,23 @@
+/**
+ * Error al leer una producción, con la línea y la columna (desde 1) donde ocurrió
+ */
+public class ErrorSintaxis extends IllegalArgumentException {
+    private static final long serialVersionUID = 1L;
+
+    private final int linea;
+    private final int columna;
+
+    public ErrorSintaxis(String motivo, int linea, int columna) {
+        super("Formato de producción inválido en la línea " + linea + ", columna " + columna + ": " + motivo);
+        this.linea = linea;
+        this.columna = columna;
+    }
+
+    public int getLinea() {
+        return linea;
+    }
+
+    public int getColumna() {
+        return columna;
+    }
+}
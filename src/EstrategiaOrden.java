@@ -0,0 +1,29 @@
+/**
+ * Estrategia para ordenar los no terminales antes de aplicar el algoritmo
+ *
+ * El tamaño de la gramática resultante depende mucho del orden A1, A2, ..., An,
+ * porque cada sustitución multiplica las alternativas de Aj dentro de Ai.
+ * El orden se decide por componente fuertemente conexa (ver PlanEliminacion).
+ */
+public interface EstrategiaOrden {
+
+    // Orden de aparición en la entrada (el del algoritmo original)
+    EstrategiaOrden ENTRADA = new OrdenEntrada();
+
+    // Heurística que estima el abanico de cada sustitución a partir de la cantidad de producciones
+    EstrategiaOrden COSTO = new OrdenPorCosto();
+
+    // Orden topológico inverso del grafo de esquina izquierda (primero las esquinas)
+    EstrategiaOrden TOPOLOGICO_INVERSO = new OrdenTopologicoInverso();
+
+    /**
+     * Devuelve los no terminales de una componente en el orden en que se procesarán
+     * La componente llega en el orden de la gramática; el arreglo no debe modificarse
+     */
+    int[] ordenar(Gramatica gramatica, int[] componente);
+
+    /**
+     * Nombre corto de la estrategia (para reportes)
+     */
+    String nombre();
+}
@@ -0,0 +1,79 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Eventos de JDK Flight Recorder de EliminadorRecursion
+ * Se ven en una grabación (java -XX:StartFlightRecording ...) bajo la categoría "Gramáticas".
+ * Antes de crear un evento se consulta si su tipo está habilitado, así que sin una
+ * grabación que los pida no se crea ningún objeto.
+ */
+final class EventosEliminacion {
+
+    static final EventType TIPO_SUSTITUCION = EventType.getEventType(Sustitucion.class);
+    static final EventType TIPO_NO_TERMINAL = EventType.getEventType(NoTerminal.class);
+    static final EventType TIPO_ELIMINACION = EventType.getEventType(Eliminacion.class);
+
+    private EventosEliminacion() {
+    }
+
+    @Name("gramaticas.Sustitucion")
+    @Label("Sustitución")
+    @Category("Gramáticas")
+    @Description("Una llamada a sustituirProducciones (Ai -> Aj γ por Ai -> δ γ)")
+    static final class Sustitucion extends Event {
+        @Label("Ai")
+        String noTerminal;
+
+        @Label("Aj")
+        String sustituido;
+
+        @Label("Producciones creadas")
+        int creadas;
+
+        @Label("Producciones descartadas")
+        int descartadas;
+    }
+
+    @Name("gramaticas.NoTerminal")
+    @Label("Procesamiento de Ai")
+    @Category("Gramáticas")
+    @Description("Sustituciones y recursión inmediata de un no terminal")
+    static final class NoTerminal extends Event {
+        @Label("Ai")
+        String noTerminal;
+
+        @Label("Alternativas")
+        int alternativas;
+
+        @Label("Recursión inmediata")
+        boolean recursionInmediata;
+    }
+
+    @Name("gramaticas.Eliminacion")
+    @Label("Eliminación de recursión")
+    @Category("Gramáticas")
+    @Description("Una ejecución completa de eliminarRecursionIzquierda")
+    static final class Eliminacion extends Event {
+        @Label("No terminales")
+        int noTerminales;
+
+        @Label("Sustituciones")
+        long sustituciones;
+
+        @Label("Producciones creadas")
+        long produccionesCreadas;
+
+        @Label("Producciones descartadas")
+        long produccionesDescartadas;
+
+        @Label("No terminales nuevos")
+        long noTerminalesNuevos;
+
+        @Label("Pico de producciones")
+        long picoProducciones;
+    }
+}
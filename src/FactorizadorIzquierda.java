@@ -0,0 +1,178 @@
+import java.util.*;
+
+/**
+ * Factorización por la izquierda: A -> αβ1 | αβ2 se reemplaza por A -> αA', A' -> β1 | β2
+ *
+ * Las alternativas de cada no terminal se insertan en un trie de prefijos. Cada nodo
+ * por el que pasan varias alternativas (porque se ramifica o porque una termina ahí)
+ * es un prefijo común: el tramo sin ramas que lleva hasta él se escribe una sola vez,
+ * seguido de un no terminal nuevo cuyas alternativas son las ramas (y ε, si alguna
+ * alternativa terminaba ahí). Cada nodo del trie se recorre una vez, así que el costo
+ * es lineal en la longitud total de las producciones.
+ *
+ * Los no terminales nuevos siguen la secuencia de EliminadorRecursion (Z, Y, X, ...)
+ * a partir del primer nombre libre y se agregan al final, en el orden en que se crean.
+ * Como en el resto del proyecto, 'e' es ε.
+ */
+public class FactorizadorIzquierda {
+
+    private ReporteFactorizacion reporte;
+
+    /**
+     * Reporte de la última factorización
+     */
+    public ReporteFactorizacion getReporte() {
+        return reporte;
+    }
+
+    /**
+     * Trie de las alternativas de un no terminal, en arreglos paralelos
+     * (los hijos de cada nodo quedan en el orden de la primera alternativa que los usa)
+     */
+    private static final class Trie {
+        int[] simbolo = new int[64];
+        int[] primerHijo = new int[64];
+        int[] ultimoHijo = new int[64];
+        int[] hermano = new int[64];
+        int[] hijos = new int[64];
+        boolean[] fin = new boolean[64];
+        int nodos;
+
+        // Hijo de cada nodo por símbolo: clave (nodo << 32) | símbolo
+        final Map<Long, Integer> indice = new HashMap<>();
+
+        void vaciar() {
+            nodos = 0;
+            indice.clear();
+            nuevo(-1);
+        }
+
+        int nuevo(int s) {
+            if (nodos == simbolo.length) {
+                int capacidad = nodos * 2;
+                simbolo = Arrays.copyOf(simbolo, capacidad);
+                primerHijo = Arrays.copyOf(primerHijo, capacidad);
+                ultimoHijo = Arrays.copyOf(ultimoHijo, capacidad);
+                hermano = Arrays.copyOf(hermano, capacidad);
+                hijos = Arrays.copyOf(hijos, capacidad);
+                fin = Arrays.copyOf(fin, capacidad);
+            }
+            simbolo[nodos] = s;
+            primerHijo[nodos] = ultimoHijo[nodos] = hermano[nodos] = -1;
+            hijos[nodos] = 0;
+            fin[nodos] = false;
+            return nodos++;
+        }
+
+        void insertar(int[] alternativa, int epsilon) {
+            int nodo = 0;
+            for (int s : alternativa) {
+                if (s == epsilon) {
+                    continue;
+                }
+                long clave = ((long) nodo << 32) | s;
+                Integer hijo = indice.get(clave);
+                if (hijo == null) {
+                    hijo = nuevo(s);
+                    indice.put(clave, hijo);
+                    if (primerHijo[nodo] < 0) {
+                        primerHijo[nodo] = hijo;
+                    } else {
+                        hermano[ultimoHijo[nodo]] = hijo;
+                    }
+                    ultimoHijo[nodo] = hijo;
+                    hijos[nodo]++;
+                }
+                nodo = hijo;
+            }
+            fin[nodo] = true;
+        }
+    }
+
+    /**
+     * Devuelve una gramática factorizada equivalente; la original no se modifica
+     */
+    public Gramatica factorizar(Gramatica gramatica) {
+        long inicio = System.nanoTime();
+        TablaSimbolos simbolos = gramatica.simbolos().copiar();
+        TablaProducciones tabla = simbolos.producciones();
+        int epsilon = simbolos.buscar(String.valueOf(TablaSimbolos.EPSILON));
+        int[] noTerminales = gramatica.obtenerNoTerminales();
+
+        // Alternativas de cada no terminal del resultado, en orden (los nuevos al final)
+        LinkedHashMap<Integer, List<Produccion>> resultado = new LinkedHashMap<>();
+        List<Integer> nuevos = new ArrayList<>();
+        int[] contador = {0};
+        int[] prefijo = new int[16];
+        Trie trie = new Trie();
+
+        // Nodos pendientes de escribir: el no terminal (nuevo) y el nodo del trie que lo origina
+        int[] pendientesNoTerminal = new int[16];
+        int[] pendientesNodo = new int[16];
+
+        for (int noTerminal : noTerminales) {
+            trie.vaciar();
+            for (Produccion produccion : gramatica.obtenerProducciones(noTerminal)) {
+                trie.insertar(produccion.aArreglo(), epsilon);
+            }
+
+            int cantidad = 0;
+            pendientesNoTerminal[cantidad] = noTerminal;
+            pendientesNodo[cantidad++] = 0;
+            for (int p = 0; p < cantidad; p++) {
+                int cabeza = pendientesNoTerminal[p];
+                int raiz = pendientesNodo[p];
+                List<Produccion> alternativas = new ArrayList<>(Math.max(1, trie.hijos[raiz]));
+                resultado.put(cabeza, alternativas);
+
+                for (int hijo = trie.primerHijo[raiz]; hijo >= 0; hijo = trie.hermano[hijo]) {
+                    // Tramo sin ramas: termina donde el trie se ramifica o una alternativa acaba
+                    int largo = 0;
+                    int nodo = hijo;
+                    while (true) {
+                        if (largo == prefijo.length) {
+                            prefijo = Arrays.copyOf(prefijo, largo * 2);
+                        }
+                        prefijo[largo++] = trie.simbolo[nodo];
+                        if (trie.fin[nodo] || trie.hijos[nodo] != 1) {
+                            break;
+                        }
+                        nodo = trie.primerHijo[nodo];
+                    }
+                    if (trie.hijos[nodo] > 0) {
+                        int nuevo = EliminadorRecursion.generarNoTerminal(simbolos, contador);
+                        nuevos.add(nuevo);
+                        if (largo == prefijo.length) {
+                            prefijo = Arrays.copyOf(prefijo, largo * 2);
+                        }
+                        prefijo[largo++] = nuevo;
+                        if (cantidad == pendientesNodo.length) {
+                            pendientesNoTerminal = Arrays.copyOf(pendientesNoTerminal, cantidad * 2);
+                            pendientesNodo = Arrays.copyOf(pendientesNodo, cantidad * 2);
+                        }
+                        pendientesNoTerminal[cantidad] = nuevo;
+                        pendientesNodo[cantidad++] = nodo;
+                    }
+                    alternativas.add(tabla.produccion(prefijo, largo));
+                }
+                if (trie.fin[raiz]) {
+                    if (epsilon < 0) {
+                        epsilon = simbolos.registrar(TablaSimbolos.EPSILON);
+                    }
+                    alternativas.add(tabla.hoja(epsilon));
+                }
+            }
+        }
+
+        Gramatica factorizada = new Gramatica(simbolos, GramaticaPersistente.vacia(simbolos));
+        for (int noTerminal : noTerminales) {
+            factorizada.agregarProduccion(noTerminal, resultado.get(noTerminal));
+        }
+        for (int nuevo : nuevos) {
+            factorizada.agregarProduccion(nuevo, resultado.get(nuevo));
+        }
+        long nanos = System.nanoTime() - inicio;
+        reporte = new ReporteFactorizacion(gramatica, factorizada, nuevos.size(), nanos);
+        return factorizada;
+    }
+}
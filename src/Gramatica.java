@@ -3,128 +3,222 @@ import java.util.*;
 /**
  * Representa una gramática libre de contexto
  * Almacena los no terminales y sus producciones
+ *
+ * Cada símbolo se guarda como un entero de la tabla de símbolos y cada
+ * producción como una Produccion (lista de enteros que comparte sufijos). Los símbolos de un carácter se
+ * escriben tal cual ("Aa"); los de varios caracteres van entre ángulos
+ * ("<Expr>+<Term>").
  */
 public class Gramatica {
-    // Mapa que asocia cada no terminal con sus producciones
-    private LinkedHashMap<Character, List<String>> producciones;
+    // Tabla que asocia cada símbolo con su id
+    private TablaSimbolos simbolos;
 
-    // Lista ordenada de no terminales (importante para el algoritmo)
-    private List<Character> noTerminales;
+    // Versión actual de las producciones (estructura persistente compartida con las copias)
+    private GramaticaPersistente version;
+
+    // Identifica las entradas que esta gramática creó y aún no comparte: solo esas
+    // se modifican en el lugar; se renueva cada vez que la versión actual se comparte
+    private Object dueno;
+
+    private int totalProducciones;
 
     private static final String VERDE = "\u001B[32m";
     private static final String AZUL = "\u001B[34m";
     private static final String RESET = "\u001B[0m";
 
     public Gramatica() {
-        this.producciones = new LinkedHashMap<>();
-        this.noTerminales = new ArrayList<>();
+        this(new TablaSimbolos());
+    }
+
+    private Gramatica(TablaSimbolos simbolos) {
+        this(simbolos, GramaticaPersistente.vacia(simbolos));
+    }
+
+    Gramatica(TablaSimbolos simbolos, GramaticaPersistente version) {
+        this.simbolos = simbolos;
+        this.version = version;
+        this.dueno = new Object();
+        this.totalProducciones = version.cantidadProducciones();
     }
 
     /**
      * Agrega una producción a la gramática
-     * Formato esperado: "A -> Aa b c"
+     * Formato esperado: "A -> Aa b c" ('|' es un símbolo más)
      */
     public void agregarProduccion(String linea) {
-        String[] partes = linea.split("->");
-        if (partes.length != 2) {
-            throw new IllegalArgumentException("Formato de producción inválido: " + linea);
-        }
-
-        char noTerminal = partes[0].trim().charAt(0);
-        String[] alternativas = partes[1].trim().split("\\s+");
-
-        if (!producciones.containsKey(noTerminal)) {
-            noTerminales.add(noTerminal);
-            producciones.put(noTerminal, new ArrayList<>());
-        }
-
-        for (String alternativa : alternativas) {
-            if (!alternativa.isEmpty()) {
-                producciones.get(noTerminal).add(alternativa);
-            }
-        }
+        LectorGramatica.leerLinea(linea, this, false);
     }
 
     /**
      * Nuevo método que normaliza la entrada para manejar ambos formatos
      * Acepta tanto "A -> Aa b" como "A -> Aa | b"
-     * Convierte todo al formato estándar separado por espacios
+     * La línea se lee en una sola pasada con LectorGramatica ('|' y los espacios separan alternativas)
      */
     public void agregarProduccionNormalizada(String linea) {
-        String[] partes = linea.split("->");
-        if (partes.length != 2) {
-            throw new IllegalArgumentException("Formato de producción inválido: " + linea);
-        }
-
-        char noTerminal = partes[0].trim().charAt(0);
-        String ladoDerecho = partes[1].trim();
-
-        // Normalizar: reemplazar "|" por espacios para unificar el formato
-        // Esto convierte "Aa | b" en "Aa b"
-        ladoDerecho = ladoDerecho.replace("|", " ");
-
-        // Dividir por espacios y filtrar elementos vacíos
-        String[] alternativas = ladoDerecho.split("\\s+");
+        LectorGramatica.leerLinea(linea, this, true);
+    }
 
-        if (!producciones.containsKey(noTerminal)) {
-            noTerminales.add(noTerminal);
-            producciones.put(noTerminal, new ArrayList<>());
+    /**
+     * Registra un no terminal nuevo al final del orden, si todavía no existe
+     */
+    void registrarNoTerminal(int noTerminal) {
+        if (!version.contieneNoTerminal(noTerminal)) {
+            version = version.conEntrada(noTerminal,
+                    new GramaticaPersistente.Entrada(dueno, Collections.emptyList()), dueno);
         }
+    }
 
-        for (String alternativa : alternativas) {
-            if (!alternativa.isEmpty()) {
-                producciones.get(noTerminal).add(alternativa);
-            }
+    /**
+     * Agrega una alternativa a un no terminal ya registrado y la indexa por su primer símbolo
+     * Si la entrada es compartida con otra versión, primero se copia
+     */
+    void agregarAlternativa(int noTerminal, Produccion alternativa) {
+        GramaticaPersistente.Entrada entrada = version.entrada(noTerminal);
+        if (entrada.dueno != dueno) {
+            entrada = new GramaticaPersistente.Entrada(dueno, entrada.producciones);
+            version = version.conEntrada(noTerminal, entrada, dueno);
         }
+        entrada.agregar(alternativa);
+        totalProducciones++;
     }
 
     /**
      * Agrega una producción directamente con el no terminal y sus alternativas
      */
-    public void agregarProduccion(char noTerminal, List<String> alternativas) {
-        if (!producciones.containsKey(noTerminal)) {
-            noTerminales.add(noTerminal);
-            producciones.put(noTerminal, new ArrayList<>());
+    public void agregarProduccion(int noTerminal, List<Produccion> alternativas) {
+        registrarNoTerminal(noTerminal);
+        for (Produccion alternativa : alternativas) {
+            agregarAlternativa(noTerminal, alternativa);
         }
-        producciones.get(noTerminal).addAll(alternativas);
     }
 
     /**
-     * Obtiene las producciones de un no terminal
+     * Obtiene las producciones de un no terminal (vista de solo lectura)
      */
-    public List<String> obtenerProducciones(char noTerminal) {
-        return producciones.getOrDefault(noTerminal, new ArrayList<>());
+    public List<Produccion> obtenerProducciones(int noTerminal) {
+        return version.obtenerProducciones(noTerminal);
+    }
+
+    /**
+     * Obtiene las producciones de un no terminal que comienzan con el símbolo dado
+     */
+    public List<Produccion> obtenerProduccionesQueEmpiezanCon(int noTerminal, int simbolo) {
+        return version.obtenerProduccionesQueEmpiezanCon(noTerminal, simbolo);
+    }
+
+    /**
+     * Verifica si alguna producción del no terminal comienza con el símbolo dado
+     */
+    public boolean tieneProduccionQueEmpiezaCon(int noTerminal, int simbolo) {
+        return version.tieneProduccionQueEmpiezaCon(noTerminal, simbolo);
+    }
+
+    /**
+     * Obtiene los distintos primeros símbolos de las producciones de un no terminal
+     */
+    public Set<Integer> obtenerPrimerosSimbolos(int noTerminal) {
+        return version.obtenerPrimerosSimbolos(noTerminal);
     }
 
     /**
      * Obtiene todos los no terminales en orden
      */
-    public List<Character> obtenerNoTerminales() {
-        return new ArrayList<>(noTerminales);
+    public int[] obtenerNoTerminales() {
+        return version.obtenerNoTerminales();
     }
 
     /**
      * Reemplaza las producciones de un no terminal
+     * Solo cambia la entrada de ese no terminal; el resto se sigue compartiendo
+     */
+    public void reemplazarProducciones(int noTerminal, List<Produccion> nuevasProducciones) {
+        GramaticaPersistente.Entrada anterior = version.entrada(noTerminal);
+        totalProducciones += nuevasProducciones.size() - (anterior == null ? 0 : anterior.producciones.size());
+        version = version.conEntrada(noTerminal,
+                new GramaticaPersistente.Entrada(dueno, nuevasProducciones), dueno);
+    }
+
+    /**
+     * Toma las producciones de un no terminal de otra versión compartiendo su entrada, en O(1)
+     * Ambas deben usar los mismos ids para los mismos símbolos
      */
-    public void reemplazarProducciones(char noTerminal, List<String> nuevasProducciones) {
-        producciones.put(noTerminal, nuevasProducciones);
+    void copiarProducciones(int noTerminal, GramaticaPersistente origen) {
+        GramaticaPersistente.Entrada entrada = origen.entrada(noTerminal);
+        GramaticaPersistente.Entrada anterior = version.entrada(noTerminal);
+        totalProducciones += entrada.producciones.size() - (anterior == null ? 0 : anterior.producciones.size());
+        version = version.conEntrada(noTerminal, entrada, dueno);
     }
 
     /**
      * Verifica si existe un no terminal en la gramática
      */
-    public boolean contieneNoTerminal(char noTerminal) {
-        return producciones.containsKey(noTerminal);
+    public boolean contieneNoTerminal(int noTerminal) {
+        return version.contieneNoTerminal(noTerminal);
+    }
+
+    /**
+     * Cantidad total de producciones (alternativas) de la gramática
+     */
+    public int cantidadProducciones() {
+        return totalProducciones;
+    }
+
+    /**
+     * Cantidad total de símbolos en los lados derechos de todas las producciones
+     */
+    public long cantidadSimbolos() {
+        long total = 0;
+        for (int noTerminal : obtenerNoTerminales()) {
+            for (Produccion produccion : obtenerProducciones(noTerminal)) {
+                total += produccion.longitud();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Obtiene la tabla de símbolos de la gramática
+     */
+    public TablaSimbolos simbolos() {
+        return simbolos;
+    }
+
+    /**
+     * Convierte una producción a texto, poniendo entre ángulos los nombres largos
+     * (es el único punto donde la producción se recorre completa)
+     */
+    public String formatear(Produccion produccion) {
+        StringBuilder texto = new StringBuilder();
+        produccion.recorrer(simbolo -> texto.append(formatearSimbolo(simbolo)));
+        return texto.toString();
+    }
+
+    /**
+     * Convierte un símbolo a texto ("A" o "<Expr>")
+     */
+    public String formatearSimbolo(int simbolo) {
+        String nombre = simbolos.nombre(simbolo);
+        return nombre.length() == 1 ? nombre : "<" + nombre + ">";
+    }
+
+    /**
+     * Convierte todas las alternativas de un no terminal a texto, separadas por espacios
+     */
+    private String formatearAlternativas(int noTerminal) {
+        StringJoiner alternativas = new StringJoiner(" ");
+        for (Produccion produccion : obtenerProducciones(noTerminal)) {
+            alternativas.add(formatear(produccion));
+        }
+        return alternativas.toString();
     }
 
     /**
      * Muestra la gramática de forma visual (para modo interactivo)
      */
     public void mostrar() {
-        for (char noTerminal : noTerminales) {
-            System.out.print(AZUL + "  " + noTerminal + " -> " + RESET);
-            List<String> prods = producciones.get(noTerminal);
-            System.out.println(VERDE + String.join(" ", prods) + RESET);
+        for (int noTerminal : obtenerNoTerminales()) {
+            System.out.print(AZUL + "  " + formatearSimbolo(noTerminal) + " -> " + RESET);
+            System.out.println(VERDE + formatearAlternativas(noTerminal) + RESET);
         }
     }
 
@@ -132,21 +226,35 @@ public class Gramatica {
      * Imprime la gramática en formato estándar (para salida del programa)
      */
     public void imprimir() {
-        for (char noTerminal : noTerminales) {
-            System.out.print(noTerminal + " -> ");
-            List<String> prods = producciones.get(noTerminal);
-            System.out.println(String.join(" ", prods));
+        StringBuilder texto = new StringBuilder();
+        imprimir(texto);
+        System.out.print(texto);
+    }
+
+    /**
+     * Agrega la gramática en formato estándar al texto dado (para escribirla sin pasar por System.out)
+     */
+    public void imprimir(StringBuilder salida) {
+        for (int noTerminal : obtenerNoTerminales()) {
+            salida.append(formatearSimbolo(noTerminal)).append(" -> ")
+                    .append(formatearAlternativas(noTerminal)).append(System.lineSeparator());
         }
     }
 
     /**
-     * Crea una copia de la gramática
+     * Toma una instantánea inmutable del estado actual, en O(1)
+     * Los cambios posteriores a esta gramática no la afectan
+     */
+    public GramaticaPersistente instantanea() {
+        dueno = new Object();
+        return version.congelar(simbolos.copiar(), totalProducciones);
+    }
+
+    /**
+     * Crea una copia de la gramática en O(1)
+     * Ambas comparten la estructura; cada una copia solo lo que modifica después
      */
     public Gramatica clonar() {
-        Gramatica clon = new Gramatica();
-        for (char noTerminal : noTerminales) {
-            clon.agregarProduccion(noTerminal, new ArrayList<>(producciones.get(noTerminal)));
-        }
-        return clon;
+        return instantanea().editar();
     }
 }
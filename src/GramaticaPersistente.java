@@ -0,0 +1,179 @@
+import java.util.*;
+
+/**
+ * Versión inmutable y persistente de una gramática
+ *
+ * Cada versión comparte con las anteriores todas las listas de producciones que
+ * no cambiaron: los no terminales se guardan en un VectorPersistente, así que
+ * reemplazar las producciones de un no terminal cuesta O(cambiado) y no O(gramática).
+ * Al ser inmutable, puede guardarse como instantánea (la original, los pasos
+ * intermedios y el resultado) y pasarse entre hilos sin sincronización.
+ *
+ * Se obtiene con Gramatica.instantanea() y se vuelve a editar con editar().
+ */
+public final class GramaticaPersistente {
+
+    /**
+     * Producciones de un no terminal junto con su índice por primer símbolo
+     * Solo la Gramatica indicada en "dueno" puede modificarla en el lugar, y únicamente
+     * mientras la entrada no haya quedado en ninguna instantánea o copia
+     */
+    static final class Entrada {
+        final ArrayList<Produccion> producciones;
+        final HashMap<Integer, List<Produccion>> indice;
+        final Object dueno;
+
+        Entrada(Object dueno, List<Produccion> producciones) {
+            this.dueno = dueno;
+            this.producciones = new ArrayList<>(producciones);
+            this.indice = new HashMap<>();
+            for (Produccion alternativa : this.producciones) {
+                indexar(alternativa);
+            }
+        }
+
+        void agregar(Produccion alternativa) {
+            producciones.add(alternativa);
+            indexar(alternativa);
+        }
+
+        private void indexar(Produccion alternativa) {
+            if (!alternativa.esVacia()) {
+                indice.computeIfAbsent(alternativa.primero(), k -> new ArrayList<>(2)).add(alternativa);
+            }
+        }
+    }
+
+    private final TablaSimbolos simbolos;
+
+    // Entrada de cada no terminal, indexada por el id del símbolo (null si no es no terminal)
+    private final VectorPersistente<Entrada> entradas;
+
+    // No terminales en orden de aparición
+    private final VectorPersistente<Integer> orden;
+
+    private final int totalProducciones;
+
+    GramaticaPersistente(TablaSimbolos simbolos, VectorPersistente<Entrada> entradas,
+                         VectorPersistente<Integer> orden, int totalProducciones) {
+        this.simbolos = simbolos;
+        this.entradas = entradas;
+        this.orden = orden;
+        this.totalProducciones = totalProducciones;
+    }
+
+    static GramaticaPersistente vacia(TablaSimbolos simbolos) {
+        return new GramaticaPersistente(simbolos, VectorPersistente.vacio(), VectorPersistente.vacio(), 0);
+    }
+
+    /**
+     * Obtiene las producciones de un no terminal (vista de solo lectura)
+     */
+    public List<Produccion> obtenerProducciones(int noTerminal) {
+        Entrada entrada = entradas.obtener(noTerminal);
+        return entrada != null ? Collections.unmodifiableList(entrada.producciones) : Collections.emptyList();
+    }
+
+    /**
+     * Obtiene las producciones de un no terminal que comienzan con el símbolo dado
+     */
+    public List<Produccion> obtenerProduccionesQueEmpiezanCon(int noTerminal, int simbolo) {
+        Entrada entrada = entradas.obtener(noTerminal);
+        List<Produccion> grupo = entrada != null ? entrada.indice.get(simbolo) : null;
+        return grupo != null ? Collections.unmodifiableList(grupo) : Collections.emptyList();
+    }
+
+    /**
+     * Verifica si alguna producción del no terminal comienza con el símbolo dado
+     */
+    public boolean tieneProduccionQueEmpiezaCon(int noTerminal, int simbolo) {
+        Entrada entrada = entradas.obtener(noTerminal);
+        return entrada != null && entrada.indice.containsKey(simbolo);
+    }
+
+    /**
+     * Obtiene los distintos primeros símbolos de las producciones de un no terminal
+     */
+    public Set<Integer> obtenerPrimerosSimbolos(int noTerminal) {
+        Entrada entrada = entradas.obtener(noTerminal);
+        return entrada != null ? Collections.unmodifiableSet(entrada.indice.keySet()) : Collections.emptySet();
+    }
+
+    /**
+     * Obtiene todos los no terminales en orden
+     */
+    public int[] obtenerNoTerminales() {
+        int[] noTerminales = new int[orden.tamano()];
+        for (int i = 0; i < noTerminales.length; i++) {
+            noTerminales[i] = orden.obtener(i);
+        }
+        return noTerminales;
+    }
+
+    /**
+     * Cantidad de no terminales
+     */
+    public int cantidadNoTerminales() {
+        return orden.tamano();
+    }
+
+    /**
+     * Verifica si existe un no terminal en la gramática
+     */
+    public boolean contieneNoTerminal(int noTerminal) {
+        return entradas.obtener(noTerminal) != null;
+    }
+
+    /**
+     * Cantidad total de producciones (alternativas) de la gramática
+     */
+    public int cantidadProducciones() {
+        return totalProducciones;
+    }
+
+    /**
+     * Copia de la tabla de símbolos de esta versión (registrar en ella no afecta a la versión)
+     */
+    public TablaSimbolos simbolos() {
+        return simbolos.copiar();
+    }
+
+    /**
+     * Devuelve una nueva versión con las producciones del no terminal reemplazadas
+     * (si no existía, se agrega al final del orden); esta versión no cambia
+     */
+    public GramaticaPersistente conProducciones(int noTerminal, List<Produccion> producciones) {
+        return conEntrada(noTerminal, new Entrada(null, producciones), null);
+    }
+
+    /**
+     * Devuelve una Gramatica editable que parte de esta versión, en O(1)
+     */
+    public Gramatica editar() {
+        return new Gramatica(simbolos.copiar(), this);
+    }
+
+    Entrada entrada(int noTerminal) {
+        return entradas.obtener(noTerminal);
+    }
+
+    /**
+     * Nueva versión con la entrada dada; los nodos de los vectores que ya pertenecen a
+     * "dueno" se modifican en el lugar (null = copiar siempre)
+     */
+    GramaticaPersistente conEntrada(int noTerminal, Entrada entrada, Object dueno) {
+        Entrada anterior = entradas.obtener(noTerminal);
+        VectorPersistente<Integer> nuevoOrden = anterior == null ? orden.agregar(noTerminal, dueno) : orden;
+        int total = totalProducciones - (anterior == null ? 0 : anterior.producciones.size())
+                + entrada.producciones.size();
+        return new GramaticaPersistente(simbolos, entradas.con(noTerminal, entrada, dueno), nuevoOrden, total);
+    }
+
+    /**
+     * La misma versión con otra tabla y otro total (lo usa Gramatica al tomar una instantánea,
+     * porque lleva esos dos datos por su cuenta)
+     */
+    GramaticaPersistente congelar(TablaSimbolos simbolos, int totalProducciones) {
+        return new GramaticaPersistente(simbolos, entradas, orden, totalProducciones);
+    }
+}
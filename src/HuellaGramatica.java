@@ -0,0 +1,126 @@
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Huella canónica de una gramática (SHA-256 de una forma canónica)
+ *
+ * La forma canónica recorre los no terminales en su orden (que sí importa para el
+ * algoritmo) y, para cada uno, sus alternativas ordenadas: dos gramáticas que solo
+ * difieren en el orden de las alternativas tienen la misma huella.
+ * Opcionalmente los no terminales se escriben por su posición y no por su nombre,
+ * de modo que también coinciden las gramáticas que solo difieren en cómo se llaman
+ * sus no terminales (los terminales siempre se comparan por nombre).
+ *
+ * La huella es estable: no depende de los ids internos ni de la ejecución.
+ */
+public final class HuellaGramatica {
+
+    private final byte[] resumen;
+    private final int hash;
+
+    private HuellaGramatica(byte[] resumen) {
+        this.resumen = resumen;
+        this.hash = Arrays.hashCode(resumen);
+    }
+
+    /**
+     * Calcula la huella de una gramática
+     * @param ignorarNombres si es verdadero, los no terminales se identifican por su posición
+     */
+    public static HuellaGramatica calcular(Gramatica gramatica, boolean ignorarNombres) {
+        int[] noTerminales = gramatica.obtenerNoTerminales();
+        Map<Integer, Integer> posiciones = new HashMap<>();
+        for (int i = 0; i < noTerminales.length; i++) {
+            posiciones.put(noTerminales[i], i);
+        }
+
+        TablaSimbolos simbolos = gramatica.simbolos();
+        MessageDigest digest = nuevoDigest();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream salida = new DataOutputStream(bytes);
+        try {
+            salida.writeInt(noTerminales.length);
+            for (int noTerminal : noTerminales) {
+                escribirSimbolo(salida, noTerminal, simbolos, posiciones, ignorarNombres);
+
+                // Cada alternativa se codifica aparte y se ordenan por su codificación
+                List<byte[]> alternativas = new ArrayList<>();
+                for (Produccion produccion : gramatica.obtenerProducciones(noTerminal)) {
+                    ByteArrayOutputStream alternativa = new ByteArrayOutputStream();
+                    DataOutputStream salidaAlternativa = new DataOutputStream(alternativa);
+                    salidaAlternativa.writeInt(produccion.longitud());
+                    for (int simbolo : produccion.aArreglo()) {
+                        escribirSimbolo(salidaAlternativa, simbolo, simbolos, posiciones, ignorarNombres);
+                    }
+                    alternativas.add(alternativa.toByteArray());
+                }
+                alternativas.sort(Arrays::compare);
+
+                salida.writeInt(alternativas.size());
+                for (byte[] alternativa : alternativas) {
+                    salida.write(alternativa);
+                }
+                digest.update(bytes.toByteArray());
+                bytes.reset();
+            }
+        } catch (IOException e) {
+            // No ocurre al escribir en memoria
+            throw new IllegalStateException(e);
+        }
+        return new HuellaGramatica(digest.digest());
+    }
+
+    private static void escribirSimbolo(DataOutputStream salida, int simbolo, TablaSimbolos simbolos,
+                                        Map<Integer, Integer> posiciones, boolean ignorarNombres) throws IOException {
+        Integer posicion = posiciones.get(simbolo);
+        if (ignorarNombres && posicion != null) {
+            salida.writeByte('N');
+            salida.writeInt(posicion);
+        } else {
+            byte[] nombre = simbolos.nombre(simbolo).getBytes(StandardCharsets.UTF_8);
+            salida.writeByte(posicion != null ? 'N' : 'T');
+            salida.writeInt(nombre.length);
+            salida.write(nombre);
+        }
+    }
+
+    private static MessageDigest nuevoDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Toda JVM incluye SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * La huella en hexadecimal
+     */
+    public String valor() {
+        StringBuilder texto = new StringBuilder(resumen.length * 2);
+        for (byte b : resumen) {
+            texto.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return texto.toString();
+    }
+
+    @Override
+    public boolean equals(Object otro) {
+        return otro instanceof HuellaGramatica && Arrays.equals(resumen, ((HuellaGramatica) otro).resumen);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return valor();
+    }
+}
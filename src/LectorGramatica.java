@@ -0,0 +1,247 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Lector de producciones en una sola pasada, directamente sobre bytes UTF-8
+ *
+ * Reemplaza a String.split / replace: recorre el texto byte a byte, registra cada
+ * símbolo en la tabla a medida que lo encuentra y arma cada alternativa en un
+ * arreglo reutilizable, sin crear Strings intermedios (salvo los nombres <largos>).
+ * Puede leer un archivo completo mapeado en memoria, un ByteBuffer o una sola línea.
+ *
+ * Formato de cada línea: "A -> Aa b" o "A -> Aa | b"; las líneas vacías se ignoran.
+ * Los errores se informan con ErrorSintaxis, que indica línea y columna.
+ */
+public final class LectorGramatica {
+
+    private final ByteBuffer datos;
+    private final Gramatica gramatica;
+    private final TablaSimbolos simbolos;
+    private final boolean barraSepara;
+
+    private int posicion;
+    private final int limite;
+    private int linea;
+    private int inicioLinea;
+
+    // Símbolos de la alternativa en curso y bytes del nombre <largo> en curso
+    private int[] alternativa = new int[16];
+    private byte[] nombre = new byte[16];
+
+    private LectorGramatica(ByteBuffer datos, Gramatica gramatica, boolean barraSepara) {
+        this.datos = datos;
+        this.gramatica = gramatica;
+        this.simbolos = gramatica.simbolos();
+        this.barraSepara = barraSepara;
+        this.posicion = datos.position();
+        this.limite = datos.limit();
+        this.linea = 1;
+        this.inicioLinea = posicion;
+    }
+
+    /**
+     * Lee un archivo de producciones mapeándolo en memoria
+     */
+    public static Gramatica leer(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            return leer(canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()));
+        }
+    }
+
+    /**
+     * Lee todas las producciones de un buffer (desde su posición hasta su límite)
+     */
+    public static Gramatica leer(ByteBuffer datos) {
+        Gramatica gramatica = new Gramatica();
+        leer(datos, gramatica);
+        return gramatica;
+    }
+
+    /**
+     * Agrega a la gramática todas las producciones del buffer; el buffer no se modifica
+     */
+    public static void leer(ByteBuffer datos, Gramatica gramatica) {
+        new LectorGramatica(datos, gramatica, true).leerTodo();
+    }
+
+    /**
+     * Agrega una sola producción escrita en una línea
+     * Con barraSepara, '|' separa alternativas; si no, es un símbolo más
+     */
+    static void leerLinea(String texto, Gramatica gramatica, boolean barraSepara) {
+        LectorGramatica lector = new LectorGramatica(
+                ByteBuffer.wrap(texto.getBytes(StandardCharsets.UTF_8)), gramatica, barraSepara);
+        lector.saltarEspacios();
+        if (lector.finDeLinea()) {
+            throw lector.error("se esperaba una producción");
+        }
+        lector.leerProduccion();
+        if (lector.posicion < lector.limite) {
+            throw lector.error("la producción debe ocupar una sola línea");
+        }
+    }
+
+    private void leerTodo() {
+        while (posicion < limite) {
+            saltarEspacios();
+            if (!finDeLinea()) {
+                leerProduccion();
+            }
+            if (posicion < limite) {
+                // Salto de línea
+                posicion++;
+                linea++;
+                inicioLinea = posicion;
+            }
+        }
+    }
+
+    /**
+     * Lee "A -> alternativas" hasta el final de la línea (sin consumir el salto)
+     */
+    private void leerProduccion() {
+        if (esFlecha()) {
+            throw error("falta el no terminal antes de '->'");
+        }
+        int noTerminal = leerSimbolo(false);
+        saltarEspacios();
+        if (!esFlecha()) {
+            throw error("se esperaba '->'");
+        }
+        posicion += 2;
+        gramatica.registrarNoTerminal(noTerminal);
+
+        TablaProducciones producciones = simbolos.producciones();
+        while (true) {
+            saltarSeparadores();
+            if (finDeLinea()) {
+                return;
+            }
+            int largo = 0;
+            while (!finDeLinea() && !esSeparador(datos.get(posicion))) {
+                if (esFlecha()) {
+                    throw error("'->' inesperado");
+                }
+                if (largo == alternativa.length) {
+                    alternativa = Arrays.copyOf(alternativa, largo * 2);
+                }
+                alternativa[largo++] = leerSimbolo(true);
+            }
+            gramatica.agregarAlternativa(noTerminal, producciones.produccion(alternativa, largo));
+        }
+    }
+
+    /**
+     * Lee un símbolo: un carácter o un nombre entre ángulos ("<Expr>")
+     * Si el '<' no tiene su '>' antes del fin de la alternativa, es un símbolo más
+     */
+    private int leerSimbolo(boolean enAlternativa) {
+        if (finDeLinea()) {
+            throw error("se esperaba un símbolo");
+        }
+        int b = datos.get(posicion) & 0xFF;
+        if (b == '<') {
+            int cierre = buscarCierre(enAlternativa);
+            if (cierre > posicion + 1) {
+                int largo = cierre - posicion - 1;
+                if (largo > nombre.length) {
+                    nombre = new byte[Math.max(largo, nombre.length * 2)];
+                }
+                for (int k = 0; k < largo; k++) {
+                    nombre[k] = datos.get(posicion + 1 + k);
+                }
+                posicion = cierre + 1;
+                return simbolos.registrar(new String(nombre, 0, largo, StandardCharsets.UTF_8));
+            }
+        }
+        if (b < 0x80) {
+            posicion++;
+            return simbolos.registrar((char) b);
+        }
+        return simbolos.registrar(new String(Character.toChars(leerCodigoUtf8())));
+    }
+
+    /**
+     * Posición del '>' que cierra el nombre que empieza en la posición actual, o -1
+     */
+    private int buscarCierre(boolean enAlternativa) {
+        for (int i = posicion + 1; i < limite; i++) {
+            byte b = datos.get(i);
+            if (b == '>') {
+                return i;
+            }
+            if (b == '\n' || esEspacio(b) || (enAlternativa && esSeparador(b))
+                    || (b == '-' && i + 1 < limite && datos.get(i + 1) == '>')) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Decodifica un carácter UTF-8 de varios bytes
+     */
+    private int leerCodigoUtf8() {
+        int b = datos.get(posicion) & 0xFF;
+        int extra = b >= 0xF0 ? 3 : b >= 0xE0 ? 2 : b >= 0xC0 ? 1 : -1;
+        if (extra < 0 || posicion + extra >= limite) {
+            throw error("UTF-8 inválido");
+        }
+        int codigo = b & (0x3F >> extra);
+        for (int k = 1; k <= extra; k++) {
+            int siguiente = datos.get(posicion + k) & 0xFF;
+            if ((siguiente & 0xC0) != 0x80) {
+                throw error("UTF-8 inválido");
+            }
+            codigo = (codigo << 6) | (siguiente & 0x3F);
+        }
+        posicion += extra + 1;
+        return codigo;
+    }
+
+    private boolean finDeLinea() {
+        return posicion >= limite || datos.get(posicion) == '\n';
+    }
+
+    private boolean esFlecha() {
+        return posicion + 1 < limite && datos.get(posicion) == '-' && datos.get(posicion + 1) == '>';
+    }
+
+    private static boolean esEspacio(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\f' || b == 0x0B;
+    }
+
+    private boolean esSeparador(byte b) {
+        return esEspacio(b) || (barraSepara && b == '|');
+    }
+
+    private void saltarEspacios() {
+        while (posicion < limite && esEspacio(datos.get(posicion))) {
+            posicion++;
+        }
+    }
+
+    private void saltarSeparadores() {
+        while (posicion < limite && esSeparador(datos.get(posicion))) {
+            posicion++;
+        }
+    }
+
+    /**
+     * Error en la posición actual; la columna se cuenta en caracteres solo cuando hace falta
+     */
+    private ErrorSintaxis error(String motivo) {
+        int columna = 1;
+        for (int i = inicioLinea; i < Math.min(posicion, limite); i++) {
+            if ((datos.get(i) & 0xC0) != 0x80) {
+                columna++;
+            }
+        }
+        return new ErrorSintaxis(motivo, linea, columna);
+    }
+}
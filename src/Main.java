@@ -1,4 +1,12 @@
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
+import java.util.function.Supplier;
 
 /**
  * Clase principal del programa
@@ -15,7 +23,55 @@ public class Main {
     private static final String MAGENTA = "\u001B[35m";
     private static final String NEGRITA = "\u001B[1m";
 
+    private static final List<EstrategiaOrden> ESTRATEGIAS = Arrays.asList(
+            EstrategiaOrden.ENTRADA, EstrategiaOrden.COSTO, EstrategiaOrden.TOPOLOGICO_INVERSO);
+
+    // Motores disponibles; el primero es el que se usa por defecto
+    private static final List<Supplier<MotorEliminacion>> FABRICAS = Arrays.asList(
+            EliminadorRecursion::new, EliminadorEsquinaIzquierda::new);
+    private static final List<MotorEliminacion> MOTORES = crearMotores();
+
+    // Motor elegido con --motor y si se compara con los demás (--comparar)
+    private static MotorEliminacion motor = MOTORES.get(0);
+    private static boolean comparar = false;
+
+    // Orden de los no terminales del motor paull (--orden) y si se comparan los órdenes (--comparar-ordenes)
+    private static EstrategiaOrden orden = EstrategiaOrden.ENTRADA;
+    private static boolean compararOrdenes = false;
+
+    // Archivos del modo --batch (null = modo interactivo) e hilos que lo procesan
+    private static List<String> archivosLote = null;
+    private static int hilos = Runtime.getRuntime().availableProcessors();
+
+    // Caché de resultados del modo --batch (null = sin caché) y si ignora los nombres
+    private static CacheResultados cache = null;
+    private static boolean cacheRenombrar = false;
+
+    // Límites de cada ejecución del motor paull (null = sin límites)
+    private static PresupuestoEliminacion presupuesto = null;
+
+    // Si se reduce la gramática (símbolos inútiles, ε, ciclos unitarios) antes de eliminar
+    private static boolean reducir = false;
+
+    // Si se factoriza por la izquierda el resultado
+    private static boolean factorizar = false;
+
+    // Si se muestran PRIMEROS, SIGUIENTES y la tabla LL(1) del resultado
+    private static boolean ll1 = false;
+
+    // Comprobación de equivalencia del resultado (null = no se comprueba)
+    private static VerificadorEquivalencia verificador = null;
+
     public static void main(String[] args) {
+        if (!leerArgumentos(args)) {
+            return;
+        }
+
+        if (archivosLote != null) {
+            ejecutarModoLotes();
+            return;
+        }
+
         mostrarBienvenida();
 
         boolean continuar = true;
@@ -42,6 +98,247 @@ public class Main {
         scanner.close();
     }
 
+    /**
+     * Opciones de la línea de comandos:
+     *   --motor <nombre>   motor de eliminación (paull, esquina-izquierda)
+     *   --comparar         ejecuta todos los motores y compara sus resultados
+     *   --orden <nombre>   orden de los no terminales del motor paull (entrada, costo, topologico)
+     *   --comparar-ordenes muestra el tamaño del resultado del motor paull con cada orden
+     *   --batch [archivos] procesa sin interacción los archivos dados (o la entrada estándar)
+     *   --hilos <n>        hilos del modo --batch (por defecto, uno por procesador)
+     *   --cache <n>        reutiliza hasta n resultados en el modo --batch
+     *   --cache-renombrar  la caché también reconoce gramáticas que solo cambian de nombres
+     *   --max-producciones <n>, --max-longitud <n>, --plazo <ms>
+     *                      límites de cada ejecución del motor paull (ver PresupuestoEliminacion)
+     *   --reducir          reduce la gramática antes de eliminar (ver ReductorGramatica)
+     *   --factorizar       factoriza por la izquierda el resultado (ver FactorizadorIzquierda)
+     *   --ll1              muestra PRIMEROS, SIGUIENTES y la tabla LL(1) del resultado
+     *   --verificar <n>    comprueba que el resultado genera las mismas cadenas de hasta n símbolos
+     *   --muestras <m>     con --verificar, comprueba m cadenas al azar en lugar de todas
+     */
+    private static boolean leerArgumentos(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--motor":
+                    if (i + 1 >= args.length || buscarMotor(args[i + 1]) == null) {
+                        System.out.println(ROJO + "❌ Motor inválido. Opciones: " + nombresMotores() + RESET);
+                        return false;
+                    }
+                    motor = buscarMotor(args[++i]);
+                    break;
+                case "--comparar":
+                    comparar = true;
+                    break;
+                case "--orden":
+                    orden = buscarOrden(i + 1 < args.length ? args[++i] : "");
+                    if (orden == null) {
+                        System.out.println(ROJO + "❌ Orden inválido. Opciones: entrada|costo|topologico" + RESET);
+                        return false;
+                    }
+                    break;
+                case "--comparar-ordenes":
+                    compararOrdenes = true;
+                    break;
+                case "--batch":
+                    archivosLote = new ArrayList<>();
+                    while (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                        archivosLote.add(args[++i]);
+                    }
+                    if (archivosLote.isEmpty()) {
+                        archivosLote.add("-");
+                    }
+                    break;
+                case "--hilos":
+                    try {
+                        hilos = Integer.parseInt(args[++i]);
+                    } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                        hilos = 0;
+                    }
+                    if (hilos <= 0) {
+                        System.out.println(ROJO + "❌ Cantidad de hilos inválida." + RESET);
+                        return false;
+                    }
+                    break;
+                case "--cache":
+                    try {
+                        cache = new CacheResultados(Integer.parseInt(args[++i]));
+                    } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                        System.out.println(ROJO + "❌ Tamaño de caché inválido." + RESET);
+                        return false;
+                    }
+                    break;
+                case "--cache-renombrar":
+                    cacheRenombrar = true;
+                    break;
+                case "--reducir":
+                    reducir = true;
+                    break;
+                case "--factorizar":
+                    factorizar = true;
+                    break;
+                case "--ll1":
+                    ll1 = true;
+                    break;
+                case "--verificar":
+                case "--muestras":
+                    if (!leerVerificacion(args[i], i + 1 < args.length ? args[++i] : "")) {
+                        return false;
+                    }
+                    break;
+                case "--max-producciones":
+                case "--max-longitud":
+                case "--plazo":
+                    if (!leerLimite(args[i], i + 1 < args.length ? args[++i] : "")) {
+                        return false;
+                    }
+                    break;
+                default:
+                    System.out.println(ROJO + "❌ Opción desconocida: " + args[i] + RESET);
+                    System.out.println("Uso: java Main [--motor " + nombresMotores() + "] [--comparar]"
+                            + " [--orden entrada|costo|topologico] [--comparar-ordenes] [--batch [archivos...]] [--hilos n] [--cache n] [--cache-renombrar]"
+                            + " [--max-producciones n] [--max-longitud n] [--plazo ms] [--reducir] [--factorizar] [--ll1]"
+                            + " [--verificar n] [--muestras m]");
+                    return false;
+            }
+        }
+        for (MotorEliminacion candidato : MOTORES) {
+            configurar(candidato);
+        }
+        return true;
+    }
+
+    private static boolean leerLimite(String opcion, String valor) {
+        if (presupuesto == null) {
+            presupuesto = new PresupuestoEliminacion();
+        }
+        try {
+            switch (opcion) {
+                case "--max-producciones":
+                    presupuesto.setMaxProducciones(Long.parseLong(valor));
+                    break;
+                case "--max-longitud":
+                    presupuesto.setMaxLongitud(Integer.parseInt(valor));
+                    break;
+                default:
+                    presupuesto.setPlazo(Duration.ofMillis(Long.parseLong(valor)));
+            }
+            return true;
+        } catch (IllegalArgumentException e) {
+            System.out.println(ROJO + "❌ Valor inválido para " + opcion + "." + RESET);
+            return false;
+        }
+    }
+
+    private static boolean leerVerificacion(String opcion, String valor) {
+        if (verificador == null) {
+            verificador = new VerificadorEquivalencia();
+        }
+        try {
+            if (opcion.equals("--verificar")) {
+                verificador.setLongitudMaxima(Integer.parseInt(valor));
+            } else {
+                verificador.setMuestras(Integer.parseInt(valor));
+            }
+            return true;
+        } catch (IllegalArgumentException e) {
+            System.out.println(ROJO + "❌ Valor inválido para " + opcion + "." + RESET);
+            return false;
+        }
+    }
+
+    private static EstrategiaOrden buscarOrden(String nombre) {
+        switch (nombre) {
+            case "entrada":
+                return EstrategiaOrden.ENTRADA;
+            case "costo":
+                return EstrategiaOrden.COSTO;
+            case "topologico":
+            case "topologico-inverso":
+                return EstrategiaOrden.TOPOLOGICO_INVERSO;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Aplica los límites y el orden de la línea de comandos al motor (solo el motor paull los admite)
+     */
+    private static MotorEliminacion configurar(MotorEliminacion candidato) {
+        if (candidato instanceof EliminadorRecursion) {
+            ((EliminadorRecursion) candidato).setPresupuesto(presupuesto);
+            ((EliminadorRecursion) candidato).setEstrategiaOrden(orden);
+        }
+        return candidato;
+    }
+
+    private static List<MotorEliminacion> crearMotores() {
+        List<MotorEliminacion> motores = new ArrayList<>();
+        for (Supplier<MotorEliminacion> fabrica : FABRICAS) {
+            motores.add(fabrica.get());
+        }
+        return motores;
+    }
+
+    /**
+     * Fábrica del motor elegido (cada hilo del modo --batch necesita su propia instancia)
+     */
+    private static Supplier<MotorEliminacion> fabricaMotor() {
+        Supplier<MotorEliminacion> fabrica = FABRICAS.get(MOTORES.indexOf(motor));
+        Supplier<MotorEliminacion> reducida = reducir
+                ? () -> new MotorConReduccion(configurar(fabrica.get()), new ReductorGramatica())
+                : () -> configurar(fabrica.get());
+        Supplier<MotorEliminacion> configurada = factorizar
+                ? () -> new MotorConFactorizacion(reducida.get(), new FactorizadorIzquierda())
+                : reducida;
+        // verificar() no guarda estado, así que todos los hilos comparten el verificador
+        Supplier<MotorEliminacion> verificada = verificador != null
+                ? () -> new MotorVerificado(configurada.get(), verificador)
+                : configurada;
+        if (cache == null) {
+            return verificada;
+        }
+        // Todos los hilos comparten la misma caché
+        return () -> new MotorConCache(verificada.get(), cache, cacheRenombrar);
+    }
+
+    /**
+     * Modo sin interacción: sin menú ni colores, resultados en formato imprimir() por la
+     * salida estándar y el resumen de rendimiento por la salida de error
+     */
+    private static void ejecutarModoLotes() {
+        ProcesadorLotes procesador = new ProcesadorLotes(fabricaMotor(), hilos);
+        try {
+            ResumenLotes resumen = procesador.procesar(archivosLote,
+                    new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+            System.err.println(resumen);
+            if (cache != null) {
+                System.err.println(cache);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error: " + e.getMessage());
+        }
+    }
+
+    private static MotorEliminacion buscarMotor(String nombre) {
+        for (MotorEliminacion candidato : MOTORES) {
+            if (candidato.nombre().equals(nombre)) {
+                return candidato;
+            }
+        }
+        return null;
+    }
+
+    private static String nombresMotores() {
+        StringBuilder nombres = new StringBuilder();
+        for (MotorEliminacion candidato : MOTORES) {
+            if (nombres.length() > 0) {
+                nombres.append("|");
+            }
+            nombres.append(candidato.nombre());
+        }
+        return nombres.toString();
+    }
+
     private static void mostrarBienvenida() {
         limpiarPantalla();
         System.out.println(CYAN + NEGRITA + "╔════════════════════════════════════════════════════════════════╗" + RESET);
@@ -109,14 +406,56 @@ public class Main {
 
                 System.out.println(VERDE + "\n✓ Gramática original:" + RESET);
                 gramatica.mostrar();
+                Gramatica original = gramatica;
+
+                if (reducir) {
+                    ReductorGramatica reductor = new ReductorGramatica();
+                    gramatica = reductor.reducir(gramatica);
+                    System.out.println(VERDE + "\n✓ Gramática reducida:" + RESET);
+                    gramatica.mostrar();
+                    System.out.println(AZUL + "  " + reductor.getReporte() + RESET);
+                }
 
-                System.out.println(AMARILLO + "\n⚙ Aplicando algoritmo de eliminación de recursión..." + RESET);
-                EliminadorRecursion eliminador = new EliminadorRecursion();
-                Gramatica gramaticaSinRecursion = eliminador.eliminarRecursionIzquierda(gramatica);
+                System.out.println(AMARILLO + "\n⚙ Aplicando algoritmo de eliminación de recursión (" + motor.nombre() + ")..." + RESET);
+                Gramatica gramaticaSinRecursion = motor.eliminarRecursionIzquierda(gramatica);
 
                 System.out.println(VERDE + "\n✓ Gramática sin recursión por la izquierda:" + RESET);
                 gramaticaSinRecursion.mostrar();
 
+                if (factorizar) {
+                    FactorizadorIzquierda factorizador = new FactorizadorIzquierda();
+                    gramaticaSinRecursion = factorizador.factorizar(gramaticaSinRecursion);
+                    System.out.println(VERDE + "\n✓ Gramática factorizada por la izquierda:" + RESET);
+                    gramaticaSinRecursion.mostrar();
+                    System.out.println(AZUL + "  " + factorizador.getReporte() + RESET);
+                }
+
+                if (ll1) {
+                    mostrarAnalisisLL1(gramaticaSinRecursion);
+                }
+
+                if (verificador != null) {
+                    ResultadoVerificacion resultado = verificador.verificar(original, gramaticaSinRecursion);
+                    String color = resultado.sinDiferencias() ? VERDE : ROJO;
+                    System.out.println(AMARILLO + "\n🔎 Equivalencia con la gramática original:" + RESET);
+                    System.out.println(color + "  " + resultado + RESET);
+                }
+
+                if (compararOrdenes && motor instanceof EliminadorRecursion) {
+                    EliminadorRecursion eliminador = (EliminadorRecursion) motor;
+                    System.out.println(AMARILLO + "\n📊 Tamaño del resultado según el orden de los no terminales:" + RESET);
+                    for (ResultadoEstrategia resultado : eliminador.compararEstrategias(gramatica, ESTRATEGIAS)) {
+                        System.out.println(AZUL + "  " + resultado + RESET);
+                    }
+                }
+
+                if (comparar) {
+                    System.out.println(AMARILLO + "\n📊 Comparación de motores:" + RESET);
+                    for (ResultadoMotor resultado : MotorEliminacion.comparar(gramatica, MOTORES)) {
+                        System.out.println(AZUL + "  " + resultado + RESET);
+                    }
+                }
+
                 if (i < numeroCasos) {
                     System.out.println();
                 }
@@ -142,6 +481,7 @@ public class Main {
         System.out.println(VERDE + "  • Los no terminales se representan con letras MAYÚSCULAS" + RESET);
         System.out.println(VERDE + "  • Los terminales se representan con letras minúsculas" + RESET);
         System.out.println(VERDE + "  • El símbolo 'e' representa la cadena vacía (ε)" + RESET);
+        System.out.println(VERDE + "  • Los símbolos de varios caracteres van entre ángulos: <Expr> -> <Expr>+<Term> <Term>" + RESET);
         System.out.println(VERDE + "  • Formato: NoTerminal -> producción1 producción2 ..." + RESET);
         System.out.println(VERDE + "  • También acepta: NoTerminal -> prod1 | prod2 | ..." + RESET);
 
@@ -175,10 +515,35 @@ public class Main {
         System.out.println(VERDE + "  • El algoritmo elimina tanto recursión inmediata como indirecta" + RESET);
         System.out.println(VERDE + "  • Se crean nuevos no terminales (Z, Y, X, etc.) según sea necesario" + RESET);
         System.out.println(VERDE + "  • La gramática de salida es equivalente a la de entrada" + RESET);
+        System.out.println(VERDE + "  • Con --motor esquina-izquierda se usa la transformación de Moore (2000)" + RESET);
+        System.out.println(VERDE + "  • Con --orden costo|topologico se cambia el orden de los no terminales del motor paull" + RESET);
+        System.out.println(VERDE + "  • Con --comparar-ordenes se muestra el tamaño del resultado con cada orden" + RESET);
+        System.out.println(VERDE + "  • Con --comparar se muestran producciones, no terminales nuevos y tiempo de cada motor" + RESET);
+        System.out.println(VERDE + "  • Con --batch archivo... (o la entrada estándar) se procesan lotes sin menú, en --hilos n hilos" + RESET);
+        System.out.println(VERDE + "  • Con --reducir se quitan antes los símbolos inútiles, las producciones ε y los ciclos unitarios" + RESET);
+        System.out.println(VERDE + "  • Con --factorizar se factorizan por la izquierda los prefijos comunes del resultado" + RESET);
+        System.out.println(VERDE + "  • Con --ll1 se muestran PRIMEROS, SIGUIENTES y la tabla LL(1) del resultado, con sus conflictos" + RESET);
+        System.out.println(VERDE + "  • Con --verificar n se comprueba que el resultado genera las mismas cadenas de hasta n símbolos (--muestras m: m al azar)" + RESET);
 
         esperarEnter();
     }
 
+    private static void mostrarAnalisisLL1(Gramatica gramatica) {
+        AnalisisLL1 analisis = AnalisisLL1.calcular(gramatica);
+        TablaLL1 tabla = analisis.construirTabla();
+        System.out.println(AMARILLO + "\n📊 Conjuntos PRIMEROS y SIGUIENTES:" + RESET);
+        for (String linea : analisis.toString().split(System.lineSeparator())) {
+            System.out.println(AZUL + "  " + linea + RESET);
+        }
+        System.out.println(AMARILLO + "\n📊 Tabla LL(1):" + RESET);
+        StringBuilder celdas = new StringBuilder();
+        tabla.imprimir(celdas);
+        for (String linea : celdas.toString().split(System.lineSeparator())) {
+            System.out.println((linea.startsWith("conflicto") ? ROJO : AZUL) + "  " + linea + RESET);
+        }
+        System.out.println((tabla.esLL1() ? VERDE + "  ✓ " : ROJO + "  ❌ ") + tabla + RESET);
+    }
+
     private static void mostrarDespedida() {
         limpiarPantalla();
         System.out.println(CYAN + NEGRITA + "\n╔════════════════════════════════════════════════════════════════╗" + RESET);
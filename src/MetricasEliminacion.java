@@ -0,0 +1,92 @@
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Métricas de una ejecución de EliminadorRecursion (instantánea inmutable)
+ * Se obtienen con getMetricas() después de ejecutar con setMetricas(true).
+ *
+ * El pico de producciones es el del recorrido secuencial (componente tras componente),
+ * así que no depende de cuántos hilos se usaron.
+ */
+public class MetricasEliminacion {
+    private final long sustituciones;
+    private final long produccionesCreadas;
+    private final long produccionesDescartadas;
+    private final long reescriturasInmediatas;
+    private final long noTerminalesNuevos;
+    private final long picoProducciones;
+    private final long nanos;
+    private final Map<String, Long> nanosPorNoTerminal;
+
+    MetricasEliminacion(long sustituciones, long produccionesCreadas, long produccionesDescartadas,
+                        long reescriturasInmediatas, long noTerminalesNuevos, long picoProducciones, long nanos,
+                        LinkedHashMap<String, Long> nanosPorNoTerminal) {
+        this.sustituciones = sustituciones;
+        this.produccionesCreadas = produccionesCreadas;
+        this.produccionesDescartadas = produccionesDescartadas;
+        this.reescriturasInmediatas = reescriturasInmediatas;
+        this.noTerminalesNuevos = noTerminalesNuevos;
+        this.picoProducciones = picoProducciones;
+        this.nanos = nanos;
+        this.nanosPorNoTerminal = Collections.unmodifiableMap(nanosPorNoTerminal);
+    }
+
+    /**
+     * Llamadas a sustituirProducciones que reemplazaron algo
+     */
+    public long getSustituciones() {
+        return sustituciones;
+    }
+
+    /**
+     * Producciones δ γ creadas por las sustituciones
+     */
+    public long getProduccionesCreadas() {
+        return produccionesCreadas;
+    }
+
+    /**
+     * Producciones Ai -> Aj γ que las sustituciones reemplazaron
+     */
+    public long getProduccionesDescartadas() {
+        return produccionesDescartadas;
+    }
+
+    /**
+     * No terminales a los que se les eliminó la recursión inmediata
+     */
+    public long getReescriturasInmediatas() {
+        return reescriturasInmediatas;
+    }
+
+    public long getNoTerminalesNuevos() {
+        return noTerminalesNuevos;
+    }
+
+    /**
+     * Mayor cantidad de producciones que tuvo la gramática durante la ejecución
+     */
+    public long getPicoProducciones() {
+        return picoProducciones;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Tiempo de cada Ai procesado, en el orden de procesamiento
+     */
+    public Map<String, Long> getNanosPorNoTerminal() {
+        return nanosPorNoTerminal;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d sustituciones (%d producciones creadas, %d descartadas), %d recursiones inmediatas,"
+                        + " %d no terminales nuevos, pico de %d producciones, %.3f ms",
+                sustituciones, produccionesCreadas, produccionesDescartadas, reescriturasInmediatas,
+                noTerminalesNuevos, picoProducciones, nanos / 1e6);
+    }
+}
@@ -0,0 +1,122 @@
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Motor que reutiliza resultados de otro motor mediante una CacheResultados
+ *
+ * La clave es la del motor (MotorEliminacion.clave(): nombre y configuración, incluidas
+ * las etapas que lo envuelven) más la HuellaGramatica de la entrada. Como la huella
+ * no depende del orden de las alternativas, un acierto puede listar las alternativas en
+ * otro orden que una ejecución nueva; el resultado es el mismo conjunto de producciones.
+ *
+ * Con ignorarNombres, también se reutilizan resultados de gramáticas que solo difieren
+ * en los nombres de sus no terminales: el resultado se traduce a los nombres de la
+ * entrada, y los no terminales nuevos conservan su nombre salvo que choque con un
+ * símbolo de la entrada (en ese caso se le agregan apóstrofos).
+ *
+ * La caché puede compartirse entre varios MotorConCache (uno por hilo, por ejemplo).
+ */
+public class MotorConCache implements MotorEliminacion {
+
+    private final MotorEliminacion motor;
+    private final CacheResultados cache;
+    private final boolean ignorarNombres;
+
+    public MotorConCache(MotorEliminacion motor, CacheResultados cache, boolean ignorarNombres) {
+        this.motor = motor;
+        this.cache = cache;
+        this.ignorarNombres = ignorarNombres;
+    }
+
+    @Override
+    public Gramatica eliminarRecursionIzquierda(Gramatica gramatica) {
+        String clave = motor.clave() + (ignorarNombres ? ":r:" : ":") + HuellaGramatica.calcular(gramatica, ignorarNombres).valor();
+        CacheResultados.Entrada entrada = cache.obtener(clave);
+        if (entrada == null) {
+            Gramatica resultado = motor.eliminarRecursionIzquierda(gramatica);
+            cache.guardar(clave, new CacheResultados.Entrada(resultado.instantanea(), gramatica.obtenerNoTerminales()));
+            return resultado;
+        }
+        if (mismosNombres(entrada, gramatica)) {
+            return entrada.resultado.editar();
+        }
+        return traducir(entrada, gramatica);
+    }
+
+    /**
+     * Verifica si los no terminales de la entrada se llaman igual que los de la gramática guardada
+     */
+    private static boolean mismosNombres(CacheResultados.Entrada entrada, Gramatica gramatica) {
+        TablaSimbolos guardados = entrada.resultado.simbolos();
+        TablaSimbolos simbolos = gramatica.simbolos();
+        int[] noTerminales = gramatica.obtenerNoTerminales();
+        for (int i = 0; i < noTerminales.length; i++) {
+            if (!guardados.nombre(entrada.noTerminalesEntrada[i]).equals(simbolos.nombre(noTerminales[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reescribe el resultado guardado con los no terminales de la entrada (por posición)
+     */
+    private static Gramatica traducir(CacheResultados.Entrada entrada, Gramatica gramatica) {
+        GramaticaPersistente guardado = entrada.resultado;
+        TablaSimbolos guardados = guardado.simbolos();
+        Gramatica resultado = gramatica.clonar();
+        TablaSimbolos simbolos = resultado.simbolos();
+
+        // Los no terminales de la entrada se corresponden por posición
+        Map<Integer, Integer> traduccion = new HashMap<>();
+        int[] noTerminales = gramatica.obtenerNoTerminales();
+        for (int i = 0; i < noTerminales.length; i++) {
+            traduccion.put(entrada.noTerminalesEntrada[i], noTerminales[i]);
+        }
+        // Los no terminales nuevos conservan su nombre si está libre
+        for (int noTerminal : guardado.obtenerNoTerminales()) {
+            if (!traduccion.containsKey(noTerminal)) {
+                String nombre = guardados.nombre(noTerminal);
+                while (simbolos.contiene(nombre)) {
+                    nombre = nombre + "'";
+                }
+                traduccion.put(noTerminal, simbolos.registrar(nombre));
+            }
+        }
+
+        TablaProducciones tabla = simbolos.producciones();
+        for (int noTerminal : guardado.obtenerNoTerminales()) {
+            List<Produccion> producciones = guardado.obtenerProducciones(noTerminal);
+            Produccion[] traducidas = new Produccion[producciones.size()];
+            for (int k = 0; k < traducidas.length; k++) {
+                int[] simbolosProduccion = producciones.get(k).aArreglo();
+                for (int s = 0; s < simbolosProduccion.length; s++) {
+                    Integer destino = traduccion.get(simbolosProduccion[s]);
+                    simbolosProduccion[s] = destino != null
+                            ? destino : simbolos.registrar(guardados.nombre(simbolosProduccion[s]));
+                }
+                traducidas[k] = tabla.produccion(simbolosProduccion);
+            }
+            resultado.reemplazarProducciones(traduccion.get(noTerminal), List.of(traducidas));
+        }
+        return resultado;
+    }
+
+    /**
+     * La caché que usa este motor (para consultar aciertos y fallos)
+     */
+    public CacheResultados getCache() {
+        return cache;
+    }
+
+    @Override
+    public String nombre() {
+        return motor.nombre();
+    }
+
+    @Override
+    public String clave() {
+        return motor.clave();
+    }
+}
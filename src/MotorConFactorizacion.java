@@ -0,0 +1,38 @@
+/**
+ * Motor que factoriza por la izquierda (FactorizadorIzquierda) el resultado de otro motor
+ *
+ * La sustitución de Paull deja muchas alternativas con el mismo prefijo; factorizarlas
+ * achica la gramática y quita conflictos de su tabla LL(1).
+ */
+public class MotorConFactorizacion implements MotorEliminacion {
+
+    private final MotorEliminacion motor;
+    private final FactorizadorIzquierda factorizador;
+
+    public MotorConFactorizacion(MotorEliminacion motor, FactorizadorIzquierda factorizador) {
+        this.motor = motor;
+        this.factorizador = factorizador;
+    }
+
+    @Override
+    public Gramatica eliminarRecursionIzquierda(Gramatica gramatica) {
+        return factorizador.factorizar(motor.eliminarRecursionIzquierda(gramatica));
+    }
+
+    @Override
+    public String nombre() {
+        return motor.nombre();
+    }
+
+    @Override
+    public String clave() {
+        return motor.clave() + "+factorizar";
+    }
+
+    /**
+     * Reporte de la última factorización
+     */
+    public ReporteFactorizacion getReporte() {
+        return factorizador.getReporte();
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * Motor que reduce la gramática con un ReductorGramatica antes de pasarla a otro motor
+ *
+ * Quitar símbolos inútiles, producciones ε y ciclos unitarios antes de eliminar la
+ * recursión achica la entrada de las sustituciones, que crecen con ella.
+ */
+public class MotorConReduccion implements MotorEliminacion {
+
+    private final MotorEliminacion motor;
+    private final ReductorGramatica reductor;
+
+    public MotorConReduccion(MotorEliminacion motor, ReductorGramatica reductor) {
+        this.motor = motor;
+        this.reductor = reductor;
+    }
+
+    @Override
+    public Gramatica eliminarRecursionIzquierda(Gramatica gramatica) {
+        return motor.eliminarRecursionIzquierda(reductor.reducir(gramatica));
+    }
+
+    @Override
+    public String nombre() {
+        return motor.nombre();
+    }
+
+    @Override
+    public String clave() {
+        return reductor.clave() + "+" + motor.clave();
+    }
+
+    /**
+     * Reporte de la última reducción
+     */
+    public ReporteReduccion getReporte() {
+        return reductor.getReporte();
+    }
+}
@@ -0,0 +1,46 @@
+import java.util.*;
+
+/**
+ * Algoritmo que transforma una gramática en otra equivalente sin recursión por la izquierda
+ *
+ * Implementaciones:
+ * - EliminadorRecursion: algoritmo de Aho et al. / Paull (sustituciones en orden)
+ * - EliminadorEsquinaIzquierda: transformación de esquina izquierda de Moore (2000)
+ */
+public interface MotorEliminacion {
+
+    /**
+     * Devuelve una gramática nueva sin recursión por la izquierda; la original no se modifica
+     */
+    Gramatica eliminarRecursionIzquierda(Gramatica gramatica);
+
+    /**
+     * Nombre corto del motor (para reportes y para elegirlo desde la línea de comandos)
+     */
+    String nombre();
+
+    /**
+     * Identifica al motor junto con la configuración que cambia su resultado (orden,
+     * etapas previas y posteriores...); MotorConCache la usa en sus claves
+     * Dos motores con la misma clave deben dar el mismo resultado para la misma entrada.
+     */
+    default String clave() {
+        return nombre();
+    }
+
+    /**
+     * Ejecuta cada motor sobre la misma gramática y reporta producciones,
+     * no terminales nuevos y tiempo de cada uno
+     */
+    static List<ResultadoMotor> comparar(Gramatica gramatica, List<MotorEliminacion> motores) {
+        int noTerminalesOriginales = gramatica.obtenerNoTerminales().length;
+        List<ResultadoMotor> resultados = new ArrayList<>();
+        for (MotorEliminacion motor : motores) {
+            long inicio = System.nanoTime();
+            Gramatica resultado = motor.eliminarRecursionIzquierda(gramatica);
+            long nanos = System.nanoTime() - inicio;
+            resultados.add(new ResultadoMotor(motor, resultado, noTerminalesOriginales, nanos));
+        }
+        return resultados;
+    }
+}
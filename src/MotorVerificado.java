@@ -0,0 +1,48 @@
+/**
+ * Motor que comprueba con VerificadorEquivalencia que el resultado de otro motor genera
+ * el mismo lenguaje (hasta la longitud configurada) que la gramática de entrada
+ *
+ * Si encuentra una cadena que las distingue lanza IllegalStateException con el
+ * contraejemplo, de modo que el modo --batch la reporta como error de esa gramática.
+ */
+public class MotorVerificado implements MotorEliminacion {
+
+    private final MotorEliminacion motor;
+    private final VerificadorEquivalencia verificador;
+    private ResultadoVerificacion resultado;
+
+    public MotorVerificado(MotorEliminacion motor, VerificadorEquivalencia verificador) {
+        this.motor = motor;
+        this.verificador = verificador;
+    }
+
+    @Override
+    public Gramatica eliminarRecursionIzquierda(Gramatica gramatica) {
+        Gramatica transformada = motor.eliminarRecursionIzquierda(gramatica);
+        resultado = verificador.verificar(gramatica, transformada);
+        if (!resultado.sinDiferencias()) {
+            throw new IllegalStateException("La gramática transformada no es equivalente: " + resultado);
+        }
+        return transformada;
+    }
+
+    @Override
+    public String nombre() {
+        return motor.nombre();
+    }
+
+    /**
+     * Incluye la verificación: un resultado guardado sin verificar no debe servir para este motor
+     */
+    @Override
+    public String clave() {
+        return motor.clave() + "+" + verificador.clave();
+    }
+
+    /**
+     * Resultado de la última verificación
+     */
+    public ResultadoVerificacion getResultado() {
+        return resultado;
+    }
+}
@@ -0,0 +1,15 @@
+/**
+ * Procesa los no terminales en el orden en que aparecen en la entrada
+ */
+public class OrdenEntrada implements EstrategiaOrden {
+
+    @Override
+    public int[] ordenar(Gramatica gramatica, int[] componente) {
+        return componente.clone();
+    }
+
+    @Override
+    public String nombre() {
+        return "entrada";
+    }
+}
@@ -0,0 +1,92 @@
+import java.util.*;
+
+/**
+ * Ordena los no terminales con un modelo de costo de las sustituciones
+ *
+ * Si X se procesa antes que Y, cada producción Y -> X γ se reemplaza por tantas
+ * producciones como alternativas tenga X en ese momento. Se elige en cada paso
+ * (de forma voraz) el no terminal cuyo abanico estimado es menor:
+ *
+ *   costo(X) = alternativas estimadas de X * producciones pendientes que empiezan con X
+ *
+ * Al elegir X, las alternativas estimadas de cada Y que empieza con X crecen en
+ * (alternativas de X - 1) por cada producción Y -> X γ. Los empates se resuelven
+ * por el orden de la entrada.
+ */
+public class OrdenPorCosto implements EstrategiaOrden {
+
+    @Override
+    public int[] ordenar(Gramatica gramatica, int[] componente) {
+        int m = componente.length;
+        Map<Integer, Integer> indices = new HashMap<>();
+        for (int k = 0; k < m; k++) {
+            indices.put(componente[k], k);
+        }
+
+        // referencias[x] = {y, c}: y tiene c producciones que empiezan con x (ambos en la componente)
+        List<List<int[]>> referencias = new ArrayList<>(m);
+        long[] estimadas = new long[m];
+        for (int k = 0; k < m; k++) {
+            referencias.add(new ArrayList<>());
+        }
+        for (int y = 0; y < m; y++) {
+            estimadas[y] = gramatica.obtenerProducciones(componente[y]).size();
+            for (int simbolo : gramatica.obtenerPrimerosSimbolos(componente[y])) {
+                Integer x = indices.get(simbolo);
+                if (x != null && x != y) {
+                    int cantidad = gramatica.obtenerProduccionesQueEmpiezanCon(componente[y], simbolo).size();
+                    referencias.get(x).add(new int[]{y, cantidad});
+                }
+            }
+        }
+
+        int[] orden = new int[m];
+        boolean[] elegido = new boolean[m];
+        for (int paso = 0; paso < m; paso++) {
+            int mejor = -1;
+            long mejorCosto = Long.MAX_VALUE;
+            for (int x = 0; x < m; x++) {
+                if (elegido[x]) {
+                    continue;
+                }
+                long pendientes = 0;
+                for (int[] referencia : referencias.get(x)) {
+                    if (!elegido[referencia[0]]) {
+                        pendientes += referencia[1];
+                    }
+                }
+                long costo = saturar(estimadas[x], pendientes);
+                if (mejor < 0 || costo < mejorCosto) {
+                    mejorCosto = costo;
+                    mejor = x;
+                }
+            }
+
+            elegido[mejor] = true;
+            orden[paso] = componente[mejor];
+            for (int[] referencia : referencias.get(mejor)) {
+                int y = referencia[0];
+                if (!elegido[y]) {
+                    long incremento = saturar(referencia[1], Math.max(0, estimadas[mejor] - 1));
+                    estimadas[y] = estimadas[y] > Long.MAX_VALUE - incremento ? Long.MAX_VALUE : estimadas[y] + incremento;
+                }
+            }
+        }
+        return orden;
+    }
+
+    /**
+     * Producto que se satura en Long.MAX_VALUE en lugar de desbordarse
+     */
+    private static long saturar(long a, long b) {
+        if (a != 0 && b > Long.MAX_VALUE / a) {
+            return Long.MAX_VALUE;
+        }
+        return a * b;
+    }
+
+    @Override
+    public String nombre() {
+        return "costo";
+    }
+}
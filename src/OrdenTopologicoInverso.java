@@ -0,0 +1,72 @@
+import java.util.*;
+
+/**
+ * Procesa los no terminales en orden topológico inverso del grafo de esquina izquierda:
+ * cada no terminal va después de los no terminales con los que empiezan sus producciones
+ *
+ * Dentro de una componente hay ciclos, así que se usa el postorden de un recorrido en
+ * profundidad (iniciado en el orden de la entrada), que es topológico inverso salvo
+ * por las aristas que cierran ciclos.
+ */
+public class OrdenTopologicoInverso implements EstrategiaOrden {
+
+    @Override
+    public int[] ordenar(Gramatica gramatica, int[] componente) {
+        int m = componente.length;
+        Map<Integer, Integer> indices = new HashMap<>();
+        for (int k = 0; k < m; k++) {
+            indices.put(componente[k], k);
+        }
+
+        // Sucesores dentro de la componente, ordenados por posición en la entrada
+        int[][] sucesores = new int[m][];
+        for (int k = 0; k < m; k++) {
+            List<Integer> destinos = new ArrayList<>();
+            for (int simbolo : gramatica.obtenerPrimerosSimbolos(componente[k])) {
+                Integer destino = indices.get(simbolo);
+                if (destino != null && destino != k) {
+                    destinos.add(destino);
+                }
+            }
+            Collections.sort(destinos);
+            sucesores[k] = new int[destinos.size()];
+            for (int d = 0; d < destinos.size(); d++) {
+                sucesores[k][d] = destinos.get(d);
+            }
+        }
+
+        // Recorrido en profundidad iterativo que emite cada nodo al terminar sus sucesores
+        int[] orden = new int[m];
+        int emitidos = 0;
+        boolean[] visitado = new boolean[m];
+        int[] pila = new int[m];
+        int[] siguiente = new int[m];
+        for (int raiz = 0; raiz < m; raiz++) {
+            if (visitado[raiz]) {
+                continue;
+            }
+            int tope = 0;
+            pila[tope++] = raiz;
+            visitado[raiz] = true;
+            while (tope > 0) {
+                int v = pila[tope - 1];
+                if (siguiente[v] < sucesores[v].length) {
+                    int w = sucesores[v][siguiente[v]++];
+                    if (!visitado[w]) {
+                        visitado[w] = true;
+                        pila[tope++] = w;
+                    }
+                } else {
+                    tope--;
+                    orden[emitidos++] = componente[v];
+                }
+            }
+        }
+        return orden;
+    }
+
+    @Override
+    public String nombre() {
+        return "topologico-inverso";
+    }
+}
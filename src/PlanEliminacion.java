@@ -0,0 +1,188 @@
+import java.util.*;
+
+/**
+ * Plan de eliminación de recursión por la izquierda
+ *
+ * Construye el grafo de esquina izquierda (A -> B si alguna producción de A
+ * comienza con B) y lo divide en componentes fuertemente conexas con el
+ * algoritmo de Tarjan. La recursión por la izquierda solo puede aparecer
+ * dentro de una componente, así que las componentes no recursivas no
+ * necesitan ningún trabajo y las recursivas son independientes entre sí.
+ */
+public class PlanEliminacion {
+    // Componentes en orden de su primer no terminal; cada una en el orden de la gramática
+    private final List<int[]> componentes;
+
+    // Indica si cada componente tiene recursión por la izquierda
+    private final boolean[] recursiva;
+
+    private PlanEliminacion(List<int[]> componentes, boolean[] recursiva) {
+        this.componentes = componentes;
+        this.recursiva = recursiva;
+    }
+
+    /**
+     * Calcula las componentes fuertemente conexas del grafo de esquina izquierda
+     */
+    public static PlanEliminacion crear(Gramatica gramatica) {
+        int[] noTerminales = gramatica.obtenerNoTerminales();
+        int n = noTerminales.length;
+
+        // Posición de cada no terminal en el orden (-1 para los demás símbolos)
+        int[] posiciones = new int[gramatica.simbolos().tamano()];
+        Arrays.fill(posiciones, -1);
+        for (int i = 0; i < n; i++) {
+            posiciones[noTerminales[i]] = i;
+        }
+
+        // Grafo de esquina izquierda sobre las posiciones, a partir del índice de primeros símbolos
+        int[][] sucesores = new int[n][];
+        boolean[] bucle = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            Set<Integer> primeros = gramatica.obtenerPrimerosSimbolos(noTerminales[i]);
+            int[] aristas = new int[primeros.size()];
+            int cantidad = 0;
+            for (int simbolo : primeros) {
+                int destino = simbolo < posiciones.length ? posiciones[simbolo] : -1;
+                if (destino >= 0) {
+                    aristas[cantidad++] = destino;
+                    if (destino == i) {
+                        bucle[i] = true;
+                    }
+                }
+            }
+            sucesores[i] = Arrays.copyOf(aristas, cantidad);
+        }
+
+        int[] componenteDe = tarjan(sucesores);
+
+        // Agrupar por componente; se recorren las posiciones en orden, así que
+        // cada componente queda ordenada y las componentes salen por su primer miembro
+        Map<Integer, List<Integer>> grupos = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) {
+            grupos.computeIfAbsent(componenteDe[i], k -> new ArrayList<>()).add(i);
+        }
+
+        List<int[]> componentes = new ArrayList<>(grupos.size());
+        boolean[] recursiva = new boolean[grupos.size()];
+        for (List<Integer> grupo : grupos.values()) {
+            int[] miembros = new int[grupo.size()];
+            for (int k = 0; k < miembros.length; k++) {
+                miembros[k] = noTerminales[grupo.get(k)];
+            }
+            recursiva[componentes.size()] = miembros.length > 1 || bucle[grupo.get(0)];
+            componentes.add(miembros);
+        }
+        return new PlanEliminacion(componentes, recursiva);
+    }
+
+    /**
+     * Plan sin descomposición: una sola componente con todos los no terminales,
+     * que reproduce el doble ciclo i/j del algoritmo de Aho et al.
+     */
+    public static PlanEliminacion completo(Gramatica gramatica) {
+        List<int[]> componentes = new ArrayList<>();
+        componentes.add(gramatica.obtenerNoTerminales());
+        return new PlanEliminacion(componentes, new boolean[]{true});
+    }
+
+    /**
+     * Algoritmo de Tarjan (versión iterativa para no desbordar la pila en gramáticas grandes)
+     * Devuelve, para cada nodo, el número de su componente
+     */
+    static int[] tarjan(int[][] sucesores) {
+        int n = sucesores.length;
+        int[] indice = new int[n];
+        int[] bajo = new int[n];
+        int[] componenteDe = new int[n];
+        boolean[] enPila = new boolean[n];
+        Arrays.fill(indice, -1);
+
+        int[] pila = new int[n];
+        int tope = 0;
+        int[] llamadas = new int[n];      // pila de recorrido en profundidad
+        int[] siguienteArista = new int[n];
+        int contador = 0;
+        int componentes = 0;
+
+        for (int raiz = 0; raiz < n; raiz++) {
+            if (indice[raiz] >= 0) {
+                continue;
+            }
+            int profundidad = 0;
+            llamadas[profundidad++] = raiz;
+            indice[raiz] = bajo[raiz] = contador++;
+            pila[tope++] = raiz;
+            enPila[raiz] = true;
+            siguienteArista[raiz] = 0;
+
+            while (profundidad > 0) {
+                int v = llamadas[profundidad - 1];
+                if (siguienteArista[v] < sucesores[v].length) {
+                    int w = sucesores[v][siguienteArista[v]++];
+                    if (indice[w] < 0) {
+                        indice[w] = bajo[w] = contador++;
+                        pila[tope++] = w;
+                        enPila[w] = true;
+                        siguienteArista[w] = 0;
+                        llamadas[profundidad++] = w;
+                    } else if (enPila[w]) {
+                        bajo[v] = Math.min(bajo[v], indice[w]);
+                    }
+                    continue;
+                }
+
+                // Todos los sucesores de v ya fueron visitados
+                profundidad--;
+                if (profundidad > 0) {
+                    int padre = llamadas[profundidad - 1];
+                    bajo[padre] = Math.min(bajo[padre], bajo[v]);
+                }
+                if (bajo[v] == indice[v]) {
+                    int w;
+                    do {
+                        w = pila[--tope];
+                        enPila[w] = false;
+                        componenteDe[w] = componentes;
+                    } while (w != v);
+                    componentes++;
+                }
+            }
+        }
+        return componenteDe;
+    }
+
+    /**
+     * Cantidad de componentes del plan
+     */
+    public int cantidadComponentes() {
+        return componentes.size();
+    }
+
+    /**
+     * No terminales de una componente, en el orden de la gramática
+     */
+    public int[] componente(int k) {
+        return componentes.get(k).clone();
+    }
+
+    /**
+     * Indica si una componente tiene recursión por la izquierda (directa o indirecta)
+     */
+    public boolean esRecursiva(int k) {
+        return recursiva[k];
+    }
+
+    /**
+     * Cantidad de componentes con recursión por la izquierda
+     */
+    public int cantidadRecursivas() {
+        int cantidad = 0;
+        for (boolean r : recursiva) {
+            if (r) {
+                cantidad++;
+            }
+        }
+        return cantidad;
+    }
+}
@@ -0,0 +1,73 @@
+import java.time.Duration;
+
+/**
+ * Límites de una ejecución de EliminadorRecursion
+ *
+ * Las sustituciones pueden hacer crecer la gramática de forma exponencial; con un
+ * presupuesto, la ejecución se detiene con EliminacionInterrumpida (que trae el
+ * resultado parcial) en lugar de agotar la memoria. Cada límite es opcional.
+ */
+public class PresupuestoEliminacion {
+
+    // Cantidad máxima de producciones de la gramática (Long.MAX_VALUE = sin límite)
+    private long maxProducciones = Long.MAX_VALUE;
+
+    // Largo máximo de una producción (Integer.MAX_VALUE = sin límite)
+    private int maxLongitud = Integer.MAX_VALUE;
+
+    // Tiempo máximo de cada ejecución, contado desde que empieza (null = sin límite)
+    private Duration plazo;
+
+    private TokenCancelacion cancelacion;
+
+    /**
+     * Máximo de producciones; se verifica antes de cada sustitución (con el tamaño que tendría
+     * el resultado), así que nunca se construye una lista que lo supere
+     */
+    public void setMaxProducciones(long maxProducciones) {
+        if (maxProducciones <= 0) {
+            throw new IllegalArgumentException("El máximo de producciones debe ser mayor a 0");
+        }
+        this.maxProducciones = maxProducciones;
+    }
+
+    /**
+     * Largo máximo de una producción; se verifica después de cada Ai
+     */
+    public void setMaxLongitud(int maxLongitud) {
+        if (maxLongitud <= 0) {
+            throw new IllegalArgumentException("El largo máximo debe ser mayor a 0");
+        }
+        this.maxLongitud = maxLongitud;
+    }
+
+    /**
+     * Tiempo máximo de cada ejecución
+     */
+    public void setPlazo(Duration plazo) {
+        if (plazo != null && (plazo.isNegative() || plazo.isZero())) {
+            throw new IllegalArgumentException("El plazo debe ser positivo");
+        }
+        this.plazo = plazo;
+    }
+
+    public void setCancelacion(TokenCancelacion cancelacion) {
+        this.cancelacion = cancelacion;
+    }
+
+    public long getMaxProducciones() {
+        return maxProducciones;
+    }
+
+    public int getMaxLongitud() {
+        return maxLongitud;
+    }
+
+    public Duration getPlazo() {
+        return plazo;
+    }
+
+    public TokenCancelacion getCancelacion() {
+        return cancelacion;
+    }
+}
@@ -0,0 +1,171 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Procesa muchas gramáticas sin interacción (modo --batch)
+ *
+ * La entrada tiene el mismo formato que el modo interactivo: la cantidad de casos y,
+ * para cada caso, la cantidad de producciones seguida de las producciones (las líneas
+ * vacías se ignoran). Se lee de a una gramática y cada una se elimina en un hilo del
+ * pool; los resultados se escriben en formato imprimir(), separados por una línea
+ * vacía y en el mismo orden de la entrada.
+ */
+public class ProcesadorLotes {
+
+    private final Supplier<MotorEliminacion> fabricaMotor;
+    private final int hilos;
+
+    /**
+     * @param fabricaMotor crea un motor para cada hilo (los motores guardan estado por ejecución)
+     * @param hilos        cantidad de hilos que eliminan en paralelo
+     */
+    public ProcesadorLotes(Supplier<MotorEliminacion> fabricaMotor, int hilos) {
+        if (hilos <= 0) {
+            throw new IllegalArgumentException("La cantidad de hilos debe ser mayor a 0: " + hilos);
+        }
+        this.fabricaMotor = fabricaMotor;
+        this.hilos = hilos;
+    }
+
+    /**
+     * Resultado de una gramática: el texto a escribir y cuántas producciones tenía la entrada
+     */
+    private static final class Resultado {
+        final String texto;
+        final int producciones;
+        final boolean error;
+
+        Resultado(String texto, int producciones, boolean error) {
+            this.texto = texto;
+            this.producciones = producciones;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Procesa los archivos uno tras otro ("-" es la entrada estándar) y escribe los resultados en la salida
+     */
+    public ResumenLotes procesar(List<String> rutas, Writer salida) throws IOException {
+        ExecutorService pool = Executors.newFixedThreadPool(hilos);
+        ThreadLocal<MotorEliminacion> motores = ThreadLocal.withInitial(fabricaMotor);
+        BufferedWriter escritor = new BufferedWriter(salida, 1 << 16);
+
+        // Resultados pendientes en orden de entrada; se limita su cantidad para no leer todo de golpe
+        ArrayDeque<Future<Resultado>> pendientes = new ArrayDeque<>();
+        int limitePendientes = hilos * 4;
+        long[] totales = new long[3];   // gramáticas, producciones, errores
+        long inicio = System.nanoTime();
+
+        try {
+            for (String ruta : rutas) {
+                BufferedReader lector = new BufferedReader(abrir(ruta), 1 << 16);
+                try {
+                    int[] linea = {0};
+                    int casos = leerEntero(lector, ruta, linea);
+                    for (int caso = 1; caso <= casos; caso++) {
+                        int cantidad = leerEntero(lector, ruta, linea);
+                        if (cantidad < 0) {
+                            throw new IllegalArgumentException(ruta + ":" + linea[0] + ": cantidad de producciones inválida");
+                        }
+                        List<String> lineas = new ArrayList<>(cantidad);
+                        for (int j = 0; j < cantidad; j++) {
+                            lineas.add(leerLinea(lector, ruta, linea));
+                        }
+                        pendientes.add(pool.submit(() -> eliminar(motores.get(), lineas)));
+                        while (pendientes.size() >= limitePendientes) {
+                            escribir(pendientes.poll(), escritor, totales);
+                        }
+                    }
+                } finally {
+                    if (!ruta.equals("-")) {
+                        lector.close();
+                    }
+                }
+            }
+            while (!pendientes.isEmpty()) {
+                escribir(pendientes.poll(), escritor, totales);
+            }
+            escritor.flush();
+        } finally {
+            pool.shutdownNow();
+        }
+        return new ResumenLotes((int) totales[0], totales[1], (int) totales[2], System.nanoTime() - inicio);
+    }
+
+    /**
+     * Arma la gramática y le elimina la recursión; los errores quedan en el texto del resultado
+     */
+    private static Resultado eliminar(MotorEliminacion motor, List<String> lineas) {
+        Gramatica gramatica = new Gramatica();
+        try {
+            for (String linea : lineas) {
+                gramatica.agregarProduccionNormalizada(linea);
+            }
+            StringBuilder texto = new StringBuilder();
+            motor.eliminarRecursionIzquierda(gramatica).imprimir(texto);
+            return new Resultado(texto.toString(), gramatica.cantidadProducciones(), false);
+        } catch (RuntimeException e) {
+            return new Resultado("# Error: " + e.getMessage() + System.lineSeparator(),
+                    gramatica.cantidadProducciones(), true);
+        }
+    }
+
+    private void escribir(Future<Resultado> pendiente, BufferedWriter escritor, long[] totales) throws IOException {
+        Resultado resultado;
+        try {
+            resultado = pendiente.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Procesamiento interrumpido");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falló la eliminación de una gramática", e.getCause());
+        }
+        if (totales[0] > 0) {
+            escritor.newLine();
+        }
+        escritor.write(resultado.texto);
+        totales[0]++;
+        totales[1] += resultado.producciones;
+        if (resultado.error) {
+            totales[2]++;
+        }
+    }
+
+    /**
+     * Lee la siguiente línea no vacía; falla si la entrada termina antes
+     */
+    private static String leerLinea(BufferedReader lector, String ruta, int[] linea) throws IOException {
+        String texto;
+        do {
+            texto = lector.readLine();
+            linea[0]++;
+            if (texto == null) {
+                throw new IllegalArgumentException(ruta + ":" + linea[0] + ": la entrada terminó antes de lo esperado");
+            }
+            texto = texto.trim();
+        } while (texto.isEmpty());
+        return texto;
+    }
+
+    private static int leerEntero(BufferedReader lector, String ruta, int[] linea) throws IOException {
+        String texto = leerLinea(lector, ruta, linea);
+        try {
+            return Integer.parseInt(texto);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(ruta + ":" + linea[0] + ": se esperaba un número: " + texto);
+        }
+    }
+
+    /**
+     * Abre un archivo de entrada como UTF-8 ("-" es la entrada estándar)
+     */
+    private static Reader abrir(String ruta) throws IOException {
+        InputStream flujo = ruta.equals("-") ? System.in : new FileInputStream(ruta);
+        return new InputStreamReader(flujo, StandardCharsets.UTF_8);
+    }
+}
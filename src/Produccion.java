@@ -0,0 +1,204 @@
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Lado derecho de una producción, guardado como cuerda (rope) inmutable de símbolos
+ *
+ * Cada nodo es una hoja (un tramo de un arreglo de símbolos, que varias hojas pueden
+ * compartir) o la concatenación de otros dos nodos. Las concatenaciones se crean con
+ * una TablaProducciones, que las comparte (hash-consing): cada trozo distinto existe
+ * una sola vez y las producciones nuevas apuntan a él. Así, sustituir Ai -> Aj γ por
+ * δ γ crea un solo nodo que apunta a δ y a γ, y agregar A' al final de α crea otro.
+ * La producción se aplana solo al imprimirla.
+ *
+ * Dos producciones son iguales si tienen los mismos símbolos, aunque la forma de la
+ * cuerda sea distinta.
+ */
+public final class Produccion {
+
+    // Base del hash polinomial; con ella el hash no depende de la forma de la cuerda
+    private static final int BASE = 1_000_003;
+
+    // Producción sin símbolos
+    public static final Produccion VACIA = new Produccion(null, 0, null, null, 0, -1, -1, 0, 1);
+
+    // Hoja: simbolos[desde .. desde+longitud); concatenación: izq y der
+    private final int[] simbolos;
+    private final int desde;
+    private final Produccion izq;
+    private final Produccion der;
+
+    private final int longitud;
+    private final int primero;
+
+    // Mayor id de símbolo en la producción (-1 si está vacía)
+    private final int maximo;
+
+    // hash = Σ símbolo(k)+1 · BASE^(longitud-1-k) y potencia = BASE^longitud (módulo 2^32)
+    private final int hash;
+    private final int potencia;
+
+    private Produccion(int[] simbolos, int desde, Produccion izq, Produccion der,
+                       int longitud, int primero, int maximo, int hash, int potencia) {
+        this.simbolos = simbolos;
+        this.desde = desde;
+        this.izq = izq;
+        this.der = der;
+        this.longitud = longitud;
+        this.primero = primero;
+        this.maximo = maximo;
+        this.hash = hash;
+        this.potencia = potencia;
+    }
+
+    /**
+     * Hoja que ve simbolos[desde .. hasta) (el arreglo no debe cambiar después)
+     */
+    static Produccion hoja(int[] simbolos, int desde, int hasta) {
+        int maximo = -1;
+        int hash = 0;
+        int potencia = 1;
+        for (int i = desde; i < hasta; i++) {
+            maximo = Math.max(maximo, simbolos[i]);
+            hash = hash * BASE + simbolos[i] + 1;
+            potencia *= BASE;
+        }
+        return new Produccion(simbolos, desde, null, null, hasta - desde, simbolos[desde], maximo, hash, potencia);
+    }
+
+    static Produccion concatenacion(Produccion izq, Produccion der) {
+        return new Produccion(null, 0, izq, der, izq.longitud + der.longitud, izq.primero,
+                Math.max(izq.maximo, der.maximo), izq.hash * der.potencia + der.hash, izq.potencia * der.potencia);
+    }
+
+    /**
+     * Cantidad de símbolos
+     */
+    public int longitud() {
+        return longitud;
+    }
+
+    public boolean esVacia() {
+        return longitud == 0;
+    }
+
+    boolean esHoja() {
+        return simbolos != null;
+    }
+
+    /**
+     * La hoja sin su primer símbolo, sobre el mismo arreglo (O(longitud) para el hash)
+     */
+    Produccion restoDeHoja() {
+        return longitud == 1 ? VACIA : hoja(simbolos, desde + 1, desde + longitud);
+    }
+
+    Produccion izquierda() {
+        return izq;
+    }
+
+    Produccion derecha() {
+        return der;
+    }
+
+    /**
+     * Primer símbolo (guardado en el nodo, O(1))
+     */
+    public int primero() {
+        if (longitud == 0) {
+            throw new IndexOutOfBoundsException("Producción vacía");
+        }
+        return primero;
+    }
+
+    /**
+     * Símbolo en la posición k (baja por la cuerda según las longitudes)
+     */
+    public int simbolo(int k) {
+        if (k < 0 || k >= longitud) {
+            throw new IndexOutOfBoundsException("Posición inválida: " + k);
+        }
+        Produccion actual = this;
+        while (!actual.esHoja()) {
+            if (k < actual.izq.longitud) {
+                actual = actual.izq;
+            } else {
+                k -= actual.izq.longitud;
+                actual = actual.der;
+            }
+        }
+        return actual.simbolos[actual.desde + k];
+    }
+
+    /**
+     * Mayor id de símbolo que aparece en la producción (-1 si está vacía)
+     */
+    public int maximo() {
+        return maximo;
+    }
+
+    /**
+     * Recorre los símbolos en orden
+     */
+    public void recorrer(IntConsumer accion) {
+        if (longitud == 0) {
+            return;
+        }
+        ArrayDeque<Produccion> pendientes = new ArrayDeque<>();
+        pendientes.push(this);
+        while (!pendientes.isEmpty()) {
+            Produccion nodo = pendientes.pop();
+            if (nodo.esHoja()) {
+                for (int i = nodo.desde; i < nodo.desde + nodo.longitud; i++) {
+                    accion.accept(nodo.simbolos[i]);
+                }
+            } else {
+                pendientes.push(nodo.der);
+                pendientes.push(nodo.izq);
+            }
+        }
+    }
+
+    /**
+     * Copia los símbolos a un arreglo (aplana la cuerda)
+     */
+    public int[] aArreglo() {
+        int[] simbolos = new int[longitud];
+        int[] siguiente = {0};
+        recorrer(s -> simbolos[siguiente[0]++] = s);
+        return simbolos;
+    }
+
+    @Override
+    public boolean equals(Object otro) {
+        if (this == otro) {
+            return true;
+        }
+        if (!(otro instanceof Produccion)) {
+            return false;
+        }
+        Produccion p = (Produccion) otro;
+        if (hash != p.hash || longitud != p.longitud || primero != p.primero || maximo != p.maximo) {
+            return false;
+        }
+        if (esHoja() && p.esHoja()) {
+            return Arrays.equals(simbolos, desde, desde + longitud, p.simbolos, p.desde, p.desde + longitud);
+        }
+        // Mismos hijos (ya compartidos): iguales sin recorrer nada
+        if (izq == p.izq && der == p.der) {
+            return true;
+        }
+        return Arrays.equals(aArreglo(), p.aArreglo());
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(aArreglo());
+    }
+}
@@ -0,0 +1,16 @@
+/**
+ * Recibe el avance de EliminadorRecursion después de procesar cada Ai
+ * Con un pool, se llama desde los hilos que procesan las componentes (puede haber
+ * llamadas simultáneas) y en el orden en que terminan.
+ */
+@FunctionalInterface
+public interface ProgresoEliminacion {
+
+    /**
+     * @param noTerminal  nombre del Ai recién procesado
+     * @param procesados  cantidad de Ai procesados hasta ahora (de todas las componentes)
+     * @param total       cantidad de Ai a procesar en la ejecución
+     * @param producciones producciones de la gramática en ese momento (estimadas si hay varias componentes en curso)
+     */
+    void procesado(String noTerminal, int procesados, int total, long producciones);
+}
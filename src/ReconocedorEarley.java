@@ -0,0 +1,347 @@
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Reconocedor de Earley para cualquier gramática (con ε, ciclos y recursión por la izquierda)
+ *
+ * El reconocedor compila la gramática una vez a arreglos de enteros (cada posición del
+ * punto en cada alternativa es un número) y es inmutable: cada hilo crea sus propios
+ * Recorrido, que guardan los conjuntos de Earley como una pila. Así, al enumerar cadenas
+ * en profundidad, cada cadena reutiliza los conjuntos de su prefijo: avanzar() agrega un
+ * token y retroceder() lo quita.
+ *
+ * Los no terminales anulables se tratan como en Aycock y Horspool (2002): al predecir un
+ * anulable también se avanza sobre él, de modo que las completaciones nunca miran el
+ * conjunto que se está armando. Las predicciones hechas en el conjunto actual se marcan
+ * en un bitset, y los ítems que esperan cada símbolo se encadenan por conjunto.
+ * Como en el resto del proyecto, 'e' es ε y el no terminal inicial es el primero.
+ */
+public final class ReconocedorEarley {
+
+    // siguiente[punto]: terminal (>= 0), no terminal i (-2 - i) o alternativa completa
+    private static final int COMPLETA = -1;
+
+    private final int cantidadNoTerminales;
+    private final int cantidadTerminales;
+    private final int[] siguiente;
+    private final int[] cabezaDe;
+    private final int[] primerPunto;
+    private final int[] primeraAlternativa;
+    private final boolean[] anulable;
+
+    /**
+     * Compila la gramática; los terminales se numeran según el alfabeto (nombre -> número)
+     * y los que no están en él no coinciden con ningún token
+     */
+    public ReconocedorEarley(Gramatica gramatica, Map<String, Integer> alfabeto) {
+        TablaSimbolos simbolos = gramatica.simbolos();
+        int[] noTerminales = gramatica.obtenerNoTerminales();
+        cantidadNoTerminales = noTerminales.length;
+        cantidadTerminales = alfabeto.size();
+        int epsilon = simbolos.buscar(String.valueOf(TablaSimbolos.EPSILON));
+
+        int[] codigos = new int[simbolos.tamano()];
+        Arrays.fill(codigos, Integer.MIN_VALUE);
+        for (int i = 0; i < noTerminales.length; i++) {
+            codigos[noTerminales[i]] = -2 - i;
+        }
+
+        int alternativas = 0;
+        int puntos = 0;
+        for (int noTerminal : noTerminales) {
+            for (Produccion produccion : gramatica.obtenerProducciones(noTerminal)) {
+                alternativas++;
+                puntos += produccion.longitud() + 1;
+            }
+        }
+        siguiente = new int[puntos];
+        cabezaDe = new int[puntos];
+        primerPunto = new int[alternativas];
+        primeraAlternativa = new int[cantidadNoTerminales + 1];
+        int a = 0;
+        int punto = 0;
+        for (int i = 0; i < noTerminales.length; i++) {
+            primeraAlternativa[i] = a;
+            for (Produccion produccion : gramatica.obtenerProducciones(noTerminales[i])) {
+                primerPunto[a++] = punto;
+                for (int simbolo : produccion.aArreglo()) {
+                    if (simbolo == epsilon) {
+                        continue;
+                    }
+                    if (codigos[simbolo] == Integer.MIN_VALUE) {
+                        Integer terminal = alfabeto.get(simbolos.nombre(simbolo));
+                        // Un terminal fuera del alfabeto nunca coincide: se usa un número sin tokens
+                        codigos[simbolo] = terminal != null ? terminal : cantidadTerminales;
+                    }
+                    cabezaDe[punto] = i;
+                    siguiente[punto++] = codigos[simbolo];
+                }
+                cabezaDe[punto] = i;
+                siguiente[punto++] = COMPLETA;
+            }
+        }
+        primeraAlternativa[noTerminales.length] = a;
+
+        // Anulables: punto fijo sobre las alternativas que solo tienen no terminales
+        anulable = new boolean[cantidadNoTerminales];
+        boolean cambio = true;
+        while (cambio) {
+            cambio = false;
+            for (int alternativa = 0; alternativa < alternativas; alternativa++) {
+                int p = primerPunto[alternativa];
+                if (anulable[cabezaDe[p]]) {
+                    continue;
+                }
+                while (siguiente[p] <= -2 && anulable[-2 - siguiente[p]]) {
+                    p++;
+                }
+                if (siguiente[p] == COMPLETA) {
+                    anulable[cabezaDe[p]] = true;
+                    cambio = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Crea un recorrido nuevo (posicionado en la cadena vacía)
+     */
+    public Recorrido recorrido() {
+        return new Recorrido();
+    }
+
+    /**
+     * Conjuntos de Earley de un prefijo, como una pila que crece y decrece de a un token
+     * No es seguro para varios hilos.
+     */
+    public final class Recorrido {
+        // Ítems de todos los conjuntos, seguidos: los del conjunto d son inicio[d] .. inicio[d+1]-1
+        private int[] punto = new int[64];
+        private int[] origen = new int[64];
+        private int[] enlace = new int[64];
+        private int cantidad;
+        private int[] inicio = new int[16];
+        private boolean[] acepta = new boolean[16];
+        private int conjunto;
+
+        // Por conjunto: primer ítem que espera cada no terminal / terminal (cadenas por "enlace")
+        private int[][] esperaNoTerminal = new int[16][];
+        private int[][] esperaTerminal = new int[16][];
+
+        // Predicciones del conjunto en construcción (bitset sobre los no terminales)
+        private final long[] predichos = new long[(cantidadNoTerminales + 63) >>> 6];
+
+        // Tabla hash de los ítems del conjunto en construcción (clave punto/origen), con
+        // la casilla de cada ítem para vaciarla al terminar
+        private long[] tabla = new long[128];
+        private int[] casilla = new int[64];
+
+        Recorrido() {
+            Arrays.fill(tabla, -1);
+            reiniciar();
+        }
+
+        /**
+         * Vuelve a la cadena vacía
+         */
+        public void reiniciar() {
+            while (conjunto > 0) {
+                retroceder();
+            }
+            if (cantidad > 0) {
+                desenlazar(0);
+            }
+            cantidad = 0;
+            inicio[0] = 0;
+            acepta[0] = false;
+            Arrays.fill(predichos, 0);
+            if (cantidadNoTerminales > 0) {
+                predecir(0, 0);
+                cerrar(0);
+            }
+            enlazar(0);
+        }
+
+        /**
+         * Tokens del prefijo actual
+         */
+        public int longitud() {
+            return conjunto;
+        }
+
+        /**
+         * Verdadero si el prefijo actual es una cadena del lenguaje
+         */
+        public boolean acepta() {
+            return acepta[conjunto];
+        }
+
+        /**
+         * Falso si el conjunto actual está vacío: ninguna extensión del prefijo es del lenguaje
+         */
+        public boolean vivo() {
+            return cantidad > inicio[conjunto];
+        }
+
+        /**
+         * Agrega un token (número del alfabeto) al final del prefijo
+         */
+        public void avanzar(int token) {
+            int anterior = conjunto;
+            int nuevo = anterior + 1;
+            if (nuevo + 1 >= inicio.length) {
+                inicio = Arrays.copyOf(inicio, inicio.length * 2);
+                acepta = Arrays.copyOf(acepta, acepta.length * 2);
+                esperaNoTerminal = Arrays.copyOf(esperaNoTerminal, esperaNoTerminal.length * 2);
+                esperaTerminal = Arrays.copyOf(esperaTerminal, esperaTerminal.length * 2);
+            }
+            conjunto = nuevo;
+            inicio[nuevo] = cantidad;
+            acepta[nuevo] = false;
+            Arrays.fill(predichos, 0);
+            if (token >= 0 && token < cantidadTerminales) {
+                for (int item = esperaTerminal[anterior][token]; item >= 0; item = enlace[item]) {
+                    agregar(punto[item] + 1, origen[item]);
+                }
+            }
+            cerrar(nuevo);
+            enlazar(nuevo);
+        }
+
+        /**
+         * Quita el último token del prefijo
+         */
+        public void retroceder() {
+            if (conjunto == 0) {
+                throw new IllegalStateException("El prefijo ya está vacío");
+            }
+            desenlazar(conjunto);
+            cantidad = inicio[conjunto];
+            conjunto--;
+        }
+
+        /**
+         * Predicción, completación y avance sobre anulables hasta que el conjunto no crece
+         */
+        private void cerrar(int actual) {
+            for (int item = inicio[actual]; item < cantidad; item++) {
+                int p = punto[item];
+                int simbolo = siguiente[p];
+                if (simbolo == COMPLETA) {
+                    int o = origen[item];
+                    // Las completaciones con origen en el conjunto actual ya las cubre el avance sobre anulables
+                    if (o < actual) {
+                        for (int espera = esperaNoTerminal[o][cabezaDe[p]]; espera >= 0; espera = enlace[espera]) {
+                            agregar(punto[espera] + 1, origen[espera]);
+                        }
+                    }
+                } else if (simbolo <= -2) {
+                    int b = -2 - simbolo;
+                    predecir(b, actual);
+                    if (anulable[b]) {
+                        agregar(p + 1, origen[item]);
+                    }
+                }
+            }
+            // Vaciar la tabla hash para el próximo conjunto
+            for (int item = inicio[actual]; item < cantidad; item++) {
+                tabla[casilla[item]] = -1;
+            }
+        }
+
+        private void predecir(int b, int actual) {
+            if ((predichos[b >>> 6] & (1L << b)) != 0) {
+                return;
+            }
+            predichos[b >>> 6] |= 1L << b;
+            for (int a = primeraAlternativa[b]; a < primeraAlternativa[b + 1]; a++) {
+                agregar(primerPunto[a], actual);
+            }
+        }
+
+        private void agregar(int p, int o) {
+            long clave = ((long) p << 32) | o;
+            int mascara = tabla.length - 1;
+            int i = (int) (mix(clave) & mascara);
+            while (tabla[i] != -1) {
+                if (tabla[i] == clave) {
+                    return;
+                }
+                i = (i + 1) & mascara;
+            }
+            if (cantidad == punto.length) {
+                int capacidad = cantidad * 2;
+                punto = Arrays.copyOf(punto, capacidad);
+                origen = Arrays.copyOf(origen, capacidad);
+                enlace = Arrays.copyOf(enlace, capacidad);
+                casilla = Arrays.copyOf(casilla, capacidad);
+            }
+            tabla[i] = clave;
+            casilla[cantidad] = i;
+            punto[cantidad] = p;
+            origen[cantidad] = o;
+            cantidad++;
+            if (siguiente[p] == COMPLETA && cabezaDe[p] == 0 && o == 0) {
+                acepta[conjunto] = true;
+            }
+            if (2 * (cantidad - inicio[conjunto]) > tabla.length) {
+                agrandarTabla();
+            }
+        }
+
+        private void agrandarTabla() {
+            tabla = new long[tabla.length * 2];
+            Arrays.fill(tabla, -1);
+            int mascara = tabla.length - 1;
+            for (int item = inicio[conjunto]; item < cantidad; item++) {
+                long clave = ((long) punto[item] << 32) | origen[item];
+                int i = (int) (mix(clave) & mascara);
+                while (tabla[i] != -1) {
+                    i = (i + 1) & mascara;
+                }
+                tabla[i] = clave;
+                casilla[item] = i;
+            }
+        }
+
+        /**
+         * Encadena los ítems del conjunto terminado según el símbolo que esperan
+         */
+        private void enlazar(int d) {
+            if (esperaNoTerminal[d] == null) {
+                esperaNoTerminal[d] = new int[cantidadNoTerminales];
+                esperaTerminal[d] = new int[cantidadTerminales];
+                Arrays.fill(esperaNoTerminal[d], -1);
+                Arrays.fill(esperaTerminal[d], -1);
+            }
+            int[] noTerminales = esperaNoTerminal[d];
+            int[] terminales = esperaTerminal[d];
+            for (int item = cantidad - 1; item >= inicio[d]; item--) {
+                int simbolo = siguiente[punto[item]];
+                if (simbolo <= -2) {
+                    enlace[item] = noTerminales[-2 - simbolo];
+                    noTerminales[-2 - simbolo] = item;
+                } else if (simbolo >= 0 && simbolo < cantidadTerminales) {
+                    enlace[item] = terminales[simbolo];
+                    terminales[simbolo] = item;
+                }
+            }
+        }
+
+        private void desenlazar(int d) {
+            for (int item = inicio[d]; item < cantidad; item++) {
+                int simbolo = siguiente[punto[item]];
+                if (simbolo <= -2) {
+                    esperaNoTerminal[d][-2 - simbolo] = -1;
+                } else if (simbolo >= 0 && simbolo < cantidadTerminales) {
+                    esperaTerminal[d][simbolo] = -1;
+                }
+            }
+        }
+    }
+
+    private static long mix(long clave) {
+        clave *= 0x9E3779B97F4A7C15L;
+        return clave ^ (clave >>> 29);
+    }
+}
@@ -0,0 +1,534 @@
+import java.util.*;
+
+/**
+ * Reduce una gramática antes de eliminar la recursión por la izquierda
+ *
+ * Etapas (cada una se puede desactivar):
+ * 1. Quita los símbolos inútiles: primero los no terminales improductivos (que no derivan
+ *    ninguna cadena de terminales) y después los inalcanzables desde el inicial
+ * 2. Elimina las producciones ε ("e"): cada alternativa se reemplaza por todas sus
+ *    variantes sin los no terminales anulables; si el inicial es anulable, conserva ε.
+ *    Una alternativa con muchos anulables se parte antes en tramos encadenados por no
+ *    terminales auxiliares (A -> X1 X2 T, T -> X3 X4 ...), así que cada tramo tiene a lo
+ *    sumo tres anulables y la salida crece en forma lineal, no exponencial
+ * 3. Rompe los ciclos de producciones unitarias (A -> B, B -> A): cada ciclo se
+ *    reemplaza por uno solo de sus no terminales
+ * Al final se vuelven a quitar los símbolos inútiles que hayan quedado.
+ *
+ * Los puntos fijos se calculan con listas de trabajo y contadores por alternativa, en
+ * tiempo lineal en el tamaño de la gramática. El no terminal inicial es el primero;
+ * como en el resto del proyecto, un símbolo es no terminal si tiene producciones.
+ */
+public class ReductorGramatica {
+
+    // Anulables por tramo al partir una alternativa (más el auxiliar que sigue, si es anulable)
+    private static final int ANULABLES_POR_TRAMO = 2;
+
+    private boolean quitarInutiles = true;
+    private boolean eliminarEpsilon = true;
+    private boolean romperCiclos = true;
+
+    private ReporteReduccion reporte;
+
+    // Contadores de la ejecución en curso
+    private int improductivos;
+    private int inalcanzables;
+    private int produccionesEpsilon;
+    private int alternativasAgregadas;
+    private int ciclosUnitarios;
+    private int fusionados;
+    private int auxiliares;
+
+    public void setQuitarInutiles(boolean quitarInutiles) {
+        this.quitarInutiles = quitarInutiles;
+    }
+
+    public void setEliminarEpsilon(boolean eliminarEpsilon) {
+        this.eliminarEpsilon = eliminarEpsilon;
+    }
+
+    public void setRomperCiclos(boolean romperCiclos) {
+        this.romperCiclos = romperCiclos;
+    }
+
+    /**
+     * Etapas activas, para la clave de MotorConReduccion
+     */
+    String clave() {
+        return "reducir(" + (quitarInutiles ? "i" : "") + (eliminarEpsilon ? "e" : "") + (romperCiclos ? "c" : "") + ")";
+    }
+
+    /**
+     * Reporte de la última reducción
+     */
+    public ReporteReduccion getReporte() {
+        return reporte;
+    }
+
+    /**
+     * Devuelve una gramática reducida equivalente; la original no se modifica
+     */
+    public Gramatica reducir(Gramatica gramatica) {
+        long inicio = System.nanoTime();
+        improductivos = inalcanzables = produccionesEpsilon = alternativasAgregadas = ciclosUnitarios = fusionados = 0;
+        auxiliares = 0;
+
+        TablaSimbolos simbolos = gramatica.simbolos().copiar();
+        LinkedHashMap<Integer, List<Produccion>> producciones = new LinkedHashMap<>();
+        for (int noTerminal : gramatica.obtenerNoTerminales()) {
+            producciones.put(noTerminal, new ArrayList<>(gramatica.obtenerProducciones(noTerminal)));
+        }
+
+        if (!producciones.isEmpty()) {
+            if (quitarInutiles) {
+                quitarInutiles(producciones);
+            }
+            if (eliminarEpsilon) {
+                producciones = eliminarEpsilon(producciones, simbolos);
+            }
+            if (romperCiclos) {
+                romperCiclosUnitarios(producciones, simbolos);
+            }
+            if (quitarInutiles && (eliminarEpsilon || romperCiclos)) {
+                quitarInutiles(producciones);
+            }
+        }
+
+        Gramatica resultado = new Gramatica(simbolos, GramaticaPersistente.vacia(simbolos));
+        for (Map.Entry<Integer, List<Produccion>> entrada : producciones.entrySet()) {
+            resultado.agregarProduccion(entrada.getKey(), entrada.getValue());
+        }
+        reporte = new ReporteReduccion(gramatica, resultado, improductivos, inalcanzables, produccionesEpsilon,
+                alternativasAgregadas, auxiliares, ciclosUnitarios, fusionados, System.nanoTime() - inicio);
+        return resultado;
+    }
+
+    /**
+     * Alternativas de la gramática en arreglos planos, con los no terminales numerados
+     * por su posición (lo que usan los puntos fijos)
+     */
+    private static final class Alternativas {
+        final int[] noTerminales;
+        final int[] posiciones;
+        final int[] cabeza;
+        final int[][] simbolos;
+
+        Alternativas(LinkedHashMap<Integer, List<Produccion>> producciones) {
+            noTerminales = new int[producciones.size()];
+            int maximo = 0;
+            int total = 0;
+            int n = 0;
+            for (Map.Entry<Integer, List<Produccion>> entrada : producciones.entrySet()) {
+                noTerminales[n++] = entrada.getKey();
+                maximo = Math.max(maximo, entrada.getKey());
+                total += entrada.getValue().size();
+                for (Produccion produccion : entrada.getValue()) {
+                    maximo = Math.max(maximo, produccion.maximo());
+                }
+            }
+            posiciones = new int[maximo + 1];
+            Arrays.fill(posiciones, -1);
+            for (int i = 0; i < n; i++) {
+                posiciones[noTerminales[i]] = i;
+            }
+
+            cabeza = new int[total];
+            simbolos = new int[total][];
+            int a = 0;
+            for (int i = 0; i < n; i++) {
+                for (Produccion produccion : producciones.get(noTerminales[i])) {
+                    cabeza[a] = i;
+                    simbolos[a++] = produccion.aArreglo();
+                }
+            }
+        }
+
+        /**
+         * Posición del no terminal, o -1 si el símbolo es terminal
+         */
+        int posicion(int simbolo) {
+            return simbolo < posiciones.length ? posiciones[simbolo] : -1;
+        }
+
+        /**
+         * Para cada no terminal, las alternativas en las que aparece (una vez por aparición)
+         */
+        int[][] apariciones() {
+            int[] cantidad = new int[noTerminales.length];
+            for (int[] alternativa : simbolos) {
+                for (int simbolo : alternativa) {
+                    int p = posicion(simbolo);
+                    if (p >= 0) {
+                        cantidad[p]++;
+                    }
+                }
+            }
+            int[][] apariciones = new int[noTerminales.length][];
+            for (int i = 0; i < apariciones.length; i++) {
+                apariciones[i] = new int[cantidad[i]];
+                cantidad[i] = 0;
+            }
+            for (int a = 0; a < simbolos.length; a++) {
+                for (int simbolo : simbolos[a]) {
+                    int p = posicion(simbolo);
+                    if (p >= 0) {
+                        apariciones[p][cantidad[p]++] = a;
+                    }
+                }
+            }
+            return apariciones;
+        }
+    }
+
+    /**
+     * Quita los no terminales improductivos y después los inalcanzables (el inicial siempre queda)
+     */
+    private void quitarInutiles(LinkedHashMap<Integer, List<Produccion>> producciones) {
+        Alternativas alternativas = new Alternativas(producciones);
+        int n = alternativas.noTerminales.length;
+        int[][] apariciones = alternativas.apariciones();
+
+        // Productivos: una alternativa lo es cuando todos sus no terminales lo son
+        BitSet productivo = new BitSet(n);
+        int[] pendientes = new int[alternativas.simbolos.length];
+        int[] trabajo = new int[n];
+        int tope = 0;
+        for (int a = 0; a < pendientes.length; a++) {
+            for (int simbolo : alternativas.simbolos[a]) {
+                if (alternativas.posicion(simbolo) >= 0) {
+                    pendientes[a]++;
+                }
+            }
+            int cabeza = alternativas.cabeza[a];
+            if (pendientes[a] == 0 && !productivo.get(cabeza)) {
+                productivo.set(cabeza);
+                trabajo[tope++] = cabeza;
+            }
+        }
+        while (tope > 0) {
+            int noTerminal = trabajo[--tope];
+            for (int a : apariciones[noTerminal]) {
+                int cabeza = alternativas.cabeza[a];
+                if (--pendientes[a] == 0 && !productivo.get(cabeza)) {
+                    productivo.set(cabeza);
+                    trabajo[tope++] = cabeza;
+                }
+            }
+        }
+
+        // Alcanzables desde el inicial, usando solo alternativas sin improductivos
+        BitSet alcanzable = new BitSet(n);
+        alcanzable.set(0);
+        trabajo[tope++] = 0;
+        List<List<Produccion>> utiles = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            utiles.add(null);
+        }
+        int a = 0;
+        int[] primera = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            primera[i] = a;
+            a += producciones.get(alternativas.noTerminales[i]).size();
+        }
+        primera[n] = a;
+        while (tope > 0) {
+            int noTerminal = trabajo[--tope];
+            List<Produccion> originales = producciones.get(alternativas.noTerminales[noTerminal]);
+            List<Produccion> conservadas = new ArrayList<>(originales.size());
+            for (int k = primera[noTerminal]; k < primera[noTerminal + 1]; k++) {
+                if (pendientes[k] > 0) {
+                    continue;
+                }
+                conservadas.add(originales.get(k - primera[noTerminal]));
+                for (int simbolo : alternativas.simbolos[k]) {
+                    int p = alternativas.posicion(simbolo);
+                    if (p >= 0 && !alcanzable.get(p)) {
+                        alcanzable.set(p);
+                        trabajo[tope++] = p;
+                    }
+                }
+            }
+            utiles.set(noTerminal, conservadas);
+        }
+
+        for (int i = 0; i < n; i++) {
+            int noTerminal = alternativas.noTerminales[i];
+            if (i > 0 && !productivo.get(i)) {
+                improductivos++;
+                producciones.remove(noTerminal);
+            } else if (!alcanzable.get(i)) {
+                inalcanzables++;
+                producciones.remove(noTerminal);
+            } else {
+                producciones.put(noTerminal, utiles.get(i));
+            }
+        }
+    }
+
+    /**
+     * Elimina las producciones ε; devuelve la gramática nueva (puede tener un inicial nuevo)
+     */
+    private LinkedHashMap<Integer, List<Produccion>> eliminarEpsilon(LinkedHashMap<Integer, List<Produccion>> producciones,
+                                                                     TablaSimbolos simbolos) {
+        int epsilon = simbolos.buscar(String.valueOf(TablaSimbolos.EPSILON));
+        if (epsilon < 0) {
+            return producciones;
+        }
+        TablaProducciones tabla = simbolos.producciones();
+        Alternativas alternativas = new Alternativas(producciones);
+        int n = alternativas.noTerminales.length;
+        int[][] apariciones = alternativas.apariciones();
+
+        // Se quita 'e' de cada alternativa: las que quedan vacías son ε
+        for (int a = 0; a < alternativas.simbolos.length; a++) {
+            int[] original = alternativas.simbolos[a];
+            int largo = 0;
+            for (int simbolo : original) {
+                if (simbolo != epsilon) {
+                    largo++;
+                }
+            }
+            if (largo < original.length) {
+                int[] sinEpsilon = new int[largo];
+                int k = 0;
+                for (int simbolo : original) {
+                    if (simbolo != epsilon) {
+                        sinEpsilon[k++] = simbolo;
+                    }
+                }
+                alternativas.simbolos[a] = sinEpsilon;
+            }
+        }
+
+        // Anulables: una alternativa lo es si no tiene terminales y todos sus no terminales lo son
+        BitSet anulable = new BitSet(n);
+        int[] pendientes = new int[alternativas.simbolos.length];
+        int[] trabajo = new int[n];
+        int tope = 0;
+        for (int a = 0; a < pendientes.length; a++) {
+            for (int simbolo : alternativas.simbolos[a]) {
+                // Un terminal hace que la alternativa nunca sea anulable
+                pendientes[a] += alternativas.posicion(simbolo) >= 0 ? 1 : alternativas.simbolos.length + 1;
+            }
+            int cabeza = alternativas.cabeza[a];
+            if (pendientes[a] == 0 && !anulable.get(cabeza)) {
+                anulable.set(cabeza);
+                trabajo[tope++] = cabeza;
+            }
+        }
+        while (tope > 0) {
+            int noTerminal = trabajo[--tope];
+            for (int a : apariciones[noTerminal]) {
+                int cabeza = alternativas.cabeza[a];
+                if (--pendientes[a] == 0 && !anulable.get(cabeza)) {
+                    anulable.set(cabeza);
+                    trabajo[tope++] = cabeza;
+                }
+            }
+        }
+
+        // Cada alternativa se reemplaza por sus variantes sin (algunos de) los anulables;
+        // las que tienen más de ANULABLES_POR_TRAMO + 1 se parten primero en tramos
+        List<LinkedHashSet<Produccion>> nuevas = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            nuevas.add(new LinkedHashSet<>());
+        }
+        LinkedHashMap<Integer, LinkedHashSet<Produccion>> tramos = new LinkedHashMap<>();
+        int[] contador = {0};
+        boolean inicialEnLadoDerecho = false;
+        for (int a = 0; a < alternativas.simbolos.length; a++) {
+            int[] alternativa = alternativas.simbolos[a];
+            LinkedHashSet<Produccion> destino = nuevas.get(alternativas.cabeza[a]);
+            if (alternativa.length == 0) {
+                produccionesEpsilon++;
+                continue;
+            }
+            // omitible[k]: el símbolo k es un no terminal anulable
+            boolean[] omitible = new boolean[alternativa.length + 1];
+            int cantidad = 0;
+            for (int k = 0; k < alternativa.length; k++) {
+                int p = alternativas.posicion(alternativa[k]);
+                inicialEnLadoDerecho |= p == 0;
+                omitible[k] = p >= 0 && anulable.get(p);
+                if (omitible[k]) {
+                    cantidad++;
+                }
+            }
+            // Largo del sufijo formado solo por anulables (si el sufijo desde k lo es, su auxiliar es anulable)
+            int desdeAnulables = alternativa.length;
+            while (desdeAnulables > 0 && omitible[desdeAnulables - 1]) {
+                desdeAnulables--;
+            }
+
+            int desde = 0;
+            int[] tramo = new int[alternativa.length + 1];
+            while (cantidad > ANULABLES_POR_TRAMO + 1) {
+                // El tramo llega hasta el ANULABLES_POR_TRAMO-ésimo anulable y sigue con un auxiliar
+                int hasta = desde;
+                for (int vistos = 0; vistos < ANULABLES_POR_TRAMO; hasta++) {
+                    if (omitible[hasta]) {
+                        vistos++;
+                    }
+                }
+                cantidad -= ANULABLES_POR_TRAMO;
+                int auxiliar = EliminadorRecursion.generarNoTerminal(simbolos, contador);
+                auxiliares++;
+                int largo = hasta - desde;
+                System.arraycopy(alternativa, desde, tramo, 0, largo);
+                tramo[largo] = auxiliar;
+                boolean[] omitibleTramo = Arrays.copyOfRange(omitible, desde, hasta + 1);
+                omitibleTramo[largo] = hasta >= desdeAnulables;
+                agregarVariantes(tramo, largo + 1, omitibleTramo, destino, tabla);
+                destino = new LinkedHashSet<>();
+                tramos.put(auxiliar, destino);
+                desde = hasta;
+            }
+            int largo = alternativa.length - desde;
+            System.arraycopy(alternativa, desde, tramo, 0, largo);
+            agregarVariantes(tramo, largo, Arrays.copyOfRange(omitible, desde, alternativa.length), destino, tabla);
+        }
+
+        LinkedHashMap<Integer, List<Produccion>> resultado = new LinkedHashMap<>();
+        int inicial = alternativas.noTerminales[0];
+        if (anulable.get(0)) {
+            // El lenguaje contiene ε: lo conserva el inicial (o un inicial nuevo, si el
+            // inicial aparece a la derecha de alguna producción)
+            if (inicialEnLadoDerecho) {
+                String nombre = simbolos.nombre(inicial) + "'";
+                while (simbolos.contiene(nombre)) {
+                    nombre += "'";
+                }
+                resultado.put(simbolos.registrar(nombre),
+                        new ArrayList<>(Arrays.asList(tabla.hoja(inicial), tabla.hoja(epsilon))));
+            } else {
+                nuevas.get(0).add(tabla.hoja(epsilon));
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            resultado.put(alternativas.noTerminales[i], new ArrayList<>(nuevas.get(i)));
+        }
+        for (Map.Entry<Integer, LinkedHashSet<Produccion>> tramo : tramos.entrySet()) {
+            resultado.put(tramo.getKey(), new ArrayList<>(tramo.getValue()));
+        }
+        return resultado;
+    }
+
+    /**
+     * Agrega a destino la alternativa y todas sus variantes no vacías sin (algunos de) los
+     * símbolos omitibles (a lo sumo ANULABLES_POR_TRAMO + 1, así que son pocas)
+     */
+    private void agregarVariantes(int[] alternativa, int largoAlternativa, boolean[] omitible,
+                                  LinkedHashSet<Produccion> destino, TablaProducciones tabla) {
+        int[] omitibles = new int[largoAlternativa];
+        int cantidad = 0;
+        for (int k = 0; k < largoAlternativa; k++) {
+            if (omitible[k]) {
+                omitibles[cantidad++] = k;
+            }
+        }
+        destino.add(tabla.produccion(alternativa, largoAlternativa));
+        int[] variante = new int[largoAlternativa];
+        for (int mascara = 1; mascara < (1 << cantidad); mascara++) {
+            int largo = 0;
+            int siguiente = 0;
+            for (int k = 0; k < largoAlternativa; k++) {
+                if (siguiente < cantidad && omitibles[siguiente] == k) {
+                    boolean omitir = (mascara & (1 << siguiente)) != 0;
+                    siguiente++;
+                    if (omitir) {
+                        continue;
+                    }
+                }
+                variante[largo++] = alternativa[k];
+            }
+            if (largo > 0 && destino.add(tabla.produccion(variante, largo))) {
+                alternativasAgregadas++;
+            }
+        }
+    }
+
+    /**
+     * Reemplaza cada ciclo de producciones unitarias por su primer no terminal
+     * (las producciones A -> A que quedan se descartan)
+     */
+    private void romperCiclosUnitarios(LinkedHashMap<Integer, List<Produccion>> producciones, TablaSimbolos simbolos) {
+        Alternativas alternativas = new Alternativas(producciones);
+        int n = alternativas.noTerminales.length;
+
+        // Grafo A -> B por cada producción unitaria A -> B
+        int[] cantidad = new int[n];
+        for (int a = 0; a < alternativas.simbolos.length; a++) {
+            if (alternativas.simbolos[a].length == 1 && alternativas.posicion(alternativas.simbolos[a][0]) >= 0) {
+                cantidad[alternativas.cabeza[a]]++;
+            }
+        }
+        int[][] sucesores = new int[n][];
+        for (int i = 0; i < n; i++) {
+            sucesores[i] = new int[cantidad[i]];
+            cantidad[i] = 0;
+        }
+        for (int a = 0; a < alternativas.simbolos.length; a++) {
+            if (alternativas.simbolos[a].length == 1 && alternativas.posicion(alternativas.simbolos[a][0]) >= 0) {
+                int cabeza = alternativas.cabeza[a];
+                sucesores[cabeza][cantidad[cabeza]++] = alternativas.posicion(alternativas.simbolos[a][0]);
+            }
+        }
+
+        // Representante de cada componente: su primer miembro en el orden de la gramática
+        int[] componenteDe = PlanEliminacion.tarjan(sucesores);
+        int[] representante = new int[n];
+        int[] tamano = new int[n];
+        Arrays.fill(representante, -1);
+        for (int i = 0; i < n; i++) {
+            if (representante[componenteDe[i]] < 0) {
+                representante[componenteDe[i]] = i;
+            }
+            tamano[componenteDe[i]]++;
+        }
+        boolean hayCiclos = false;
+        for (int c = 0; c < n; c++) {
+            if (tamano[c] > 1) {
+                ciclosUnitarios++;
+                fusionados += tamano[c] - 1;
+                hayCiclos = true;
+            }
+        }
+        if (!hayCiclos) {
+            // Solo puede haber producciones A -> A
+            for (Map.Entry<Integer, List<Produccion>> entrada : producciones.entrySet()) {
+                int noTerminal = entrada.getKey();
+                entrada.getValue().removeIf(p -> p.longitud() == 1 && p.primero() == noTerminal);
+            }
+            return;
+        }
+
+        // Reemplazo de cada no terminal por el representante de su ciclo
+        int[] reemplazo = new int[simbolos.tamano()];
+        for (int s = 0; s < reemplazo.length; s++) {
+            int p = alternativas.posicion(s);
+            reemplazo[s] = p >= 0 ? alternativas.noTerminales[representante[componenteDe[p]]] : s;
+        }
+        TablaProducciones tabla = simbolos.producciones();
+        List<LinkedHashSet<Produccion>> nuevas = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            nuevas.add(new LinkedHashSet<>());
+        }
+        for (int a = 0; a < alternativas.simbolos.length; a++) {
+            int[] alternativa = alternativas.simbolos[a];
+            int cabeza = representante[componenteDe[alternativas.cabeza[a]]];
+            for (int k = 0; k < alternativa.length; k++) {
+                alternativa[k] = reemplazo[alternativa[k]];
+            }
+            if (alternativa.length == 1 && alternativa[0] == alternativas.noTerminales[cabeza]) {
+                continue;
+            }
+            nuevas.get(cabeza).add(tabla.produccion(alternativa));
+        }
+        producciones.clear();
+        for (int i = 0; i < n; i++) {
+            if (representante[componenteDe[i]] == i) {
+                producciones.put(alternativas.noTerminales[i], new ArrayList<>(nuevas.get(i)));
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * Contadores de una componente mientras se elimina (se resumen en MetricasEliminacion)
+ * Cada componente tiene el suyo, así que no hace falta sincronizar aunque corran en paralelo
+ */
+final class RegistroMetricas {
+    long sustituciones;
+    long creadas;
+    long descartadas;
+    long inmediatas;
+    long nuevos;
+
+    // Producciones de la copia local al empezar, al terminar y la mayor cantidad que tuvo
+    long inicial;
+    long fin;
+    long pico;
+
+    // Tiempo de cada miembro, en el orden de procesamiento
+    final long[] nanosPorMiembro;
+
+    RegistroMetricas(int miembros, long inicial) {
+        this.nanosPorMiembro = new long[miembros];
+        this.inicial = inicial;
+        this.fin = inicial;
+        this.pico = inicial;
+    }
+
+    void sustitucion(int creadas, int descartadas) {
+        sustituciones++;
+        this.creadas += creadas;
+        this.descartadas += descartadas;
+    }
+
+    void tamano(long producciones) {
+        fin = producciones;
+        pico = Math.max(pico, producciones);
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Cuánto achicó una gramática FactorizadorIzquierda y cuántos conflictos LL(1) quitó
+ *
+ * Los conflictos se calculan recién cuando se piden (con toString también), porque
+ * armar las dos tablas LL(1) cuesta más que factorizar; el reporte guarda instantáneas
+ * de ambas gramáticas para eso.
+ */
+public class ReporteFactorizacion {
+    private final int noTerminalesAntes;
+    private final int noTerminalesDespues;
+    private final int produccionesAntes;
+    private final int produccionesDespues;
+    private final long simbolosAntes;
+    private final long simbolosDespues;
+    private final int prefijosFactorizados;
+    private final long nanos;
+
+    // Gramáticas de las que se calculan los conflictos, y los conflictos (-1 = sin calcular)
+    private final GramaticaPersistente antes;
+    private final GramaticaPersistente despues;
+    private int conflictosAntes = -1;
+    private int conflictosDespues = -1;
+
+    ReporteFactorizacion(Gramatica antes, Gramatica despues, int prefijosFactorizados, long nanos) {
+        this.noTerminalesAntes = antes.obtenerNoTerminales().length;
+        this.noTerminalesDespues = despues.obtenerNoTerminales().length;
+        this.produccionesAntes = antes.cantidadProducciones();
+        this.produccionesDespues = despues.cantidadProducciones();
+        this.simbolosAntes = antes.cantidadSimbolos();
+        this.simbolosDespues = despues.cantidadSimbolos();
+        this.prefijosFactorizados = prefijosFactorizados;
+        this.nanos = nanos;
+        this.antes = antes.instantanea();
+        this.despues = despues.instantanea();
+    }
+
+    public int getNoTerminalesAntes() {
+        return noTerminalesAntes;
+    }
+
+    public int getNoTerminalesDespues() {
+        return noTerminalesDespues;
+    }
+
+    public int getProduccionesAntes() {
+        return produccionesAntes;
+    }
+
+    public int getProduccionesDespues() {
+        return produccionesDespues;
+    }
+
+    public long getSimbolosAntes() {
+        return simbolosAntes;
+    }
+
+    public long getSimbolosDespues() {
+        return simbolosDespues;
+    }
+
+    /**
+     * Prefijos comunes reemplazados por un no terminal nuevo (uno por no terminal creado)
+     */
+    public int getPrefijosFactorizados() {
+        return prefijosFactorizados;
+    }
+
+    /**
+     * Celdas con conflicto de la tabla LL(1) antes de factorizar (se calcula la primera vez)
+     */
+    public synchronized int getConflictosAntes() {
+        if (conflictosAntes < 0) {
+            conflictosAntes = conflictos(antes);
+        }
+        return conflictosAntes;
+    }
+
+    public synchronized int getConflictosDespues() {
+        if (conflictosDespues < 0) {
+            conflictosDespues = conflictos(despues);
+        }
+        return conflictosDespues;
+    }
+
+    private static int conflictos(GramaticaPersistente gramatica) {
+        return AnalisisLL1.calcular(gramatica.editar()).construirTabla().getConflictos().size();
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    private static String variacion(long antes, long despues) {
+        return antes == 0 ? "+0.0%" : String.format("%+.1f%%", 100.0 * (despues - antes) / antes);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("no terminales %d -> %d, producciones %d -> %d (%s), símbolos %d -> %d (%s);"
+                        + " %d prefijos factorizados, conflictos LL(1) %d -> %d, %.3f ms",
+                noTerminalesAntes, noTerminalesDespues,
+                produccionesAntes, produccionesDespues, variacion(produccionesAntes, produccionesDespues),
+                simbolosAntes, simbolosDespues, variacion(simbolosAntes, simbolosDespues),
+                prefijosFactorizados, getConflictosAntes(), getConflictosDespues(), nanos / 1e6);
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * Cuánto achicó una gramática ReductorGramatica, y por qué
+ */
+public class ReporteReduccion {
+    private final int noTerminalesAntes;
+    private final int noTerminalesDespues;
+    private final int produccionesAntes;
+    private final int produccionesDespues;
+    private final long simbolosAntes;
+    private final long simbolosDespues;
+    private final int improductivos;
+    private final int inalcanzables;
+    private final int produccionesEpsilon;
+    private final int alternativasAgregadas;
+    private final int noTerminalesAuxiliares;
+    private final int ciclosUnitarios;
+    private final int noTerminalesFusionados;
+    private final long nanos;
+
+    ReporteReduccion(Gramatica antes, Gramatica despues, int improductivos, int inalcanzables,
+                     int produccionesEpsilon, int alternativasAgregadas, int noTerminalesAuxiliares,
+                     int ciclosUnitarios, int noTerminalesFusionados, long nanos) {
+        this.noTerminalesAntes = antes.obtenerNoTerminales().length;
+        this.noTerminalesDespues = despues.obtenerNoTerminales().length;
+        this.produccionesAntes = antes.cantidadProducciones();
+        this.produccionesDespues = despues.cantidadProducciones();
+        this.simbolosAntes = antes.cantidadSimbolos();
+        this.simbolosDespues = despues.cantidadSimbolos();
+        this.improductivos = improductivos;
+        this.inalcanzables = inalcanzables;
+        this.produccionesEpsilon = produccionesEpsilon;
+        this.alternativasAgregadas = alternativasAgregadas;
+        this.noTerminalesAuxiliares = noTerminalesAuxiliares;
+        this.ciclosUnitarios = ciclosUnitarios;
+        this.noTerminalesFusionados = noTerminalesFusionados;
+        this.nanos = nanos;
+    }
+
+    public int getNoTerminalesAntes() {
+        return noTerminalesAntes;
+    }
+
+    public int getNoTerminalesDespues() {
+        return noTerminalesDespues;
+    }
+
+    public int getProduccionesAntes() {
+        return produccionesAntes;
+    }
+
+    public int getProduccionesDespues() {
+        return produccionesDespues;
+    }
+
+    public long getSimbolosAntes() {
+        return simbolosAntes;
+    }
+
+    public long getSimbolosDespues() {
+        return simbolosDespues;
+    }
+
+    /**
+     * No terminales quitados porque no derivan ninguna cadena de terminales
+     */
+    public int getImproductivos() {
+        return improductivos;
+    }
+
+    /**
+     * No terminales quitados porque no se alcanzan desde el inicial
+     */
+    public int getInalcanzables() {
+        return inalcanzables;
+    }
+
+    /**
+     * Producciones ε ("e") eliminadas
+     */
+    public int getProduccionesEpsilon() {
+        return produccionesEpsilon;
+    }
+
+    /**
+     * Alternativas nuevas que se agregaron al omitir los no terminales anulables
+     */
+    public int getAlternativasAgregadas() {
+        return alternativasAgregadas;
+    }
+
+    /**
+     * No terminales auxiliares creados al partir alternativas con muchos anulables
+     */
+    public int getNoTerminalesAuxiliares() {
+        return noTerminalesAuxiliares;
+    }
+
+    /**
+     * Ciclos de producciones unitarias (A -> B -> ... -> A) que se rompieron
+     */
+    public int getCiclosUnitarios() {
+        return ciclosUnitarios;
+    }
+
+    /**
+     * No terminales reemplazados por otro de su ciclo unitario
+     */
+    public int getNoTerminalesFusionados() {
+        return noTerminalesFusionados;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    private static String variacion(long antes, long despues) {
+        return antes == 0 ? "+0.0%" : String.format("%+.1f%%", 100.0 * (despues - antes) / antes);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("no terminales %d -> %d (%s), producciones %d -> %d (%s), símbolos %d -> %d (%s);"
+                        + " %d improductivos, %d inalcanzables, %d producciones ε (%d alternativas agregadas,"
+                        + " %d no terminales auxiliares),"
+                        + " %d ciclos unitarios (%d no terminales fusionados), %.3f ms",
+                noTerminalesAntes, noTerminalesDespues, variacion(noTerminalesAntes, noTerminalesDespues),
+                produccionesAntes, produccionesDespues, variacion(produccionesAntes, produccionesDespues),
+                simbolosAntes, simbolosDespues, variacion(simbolosAntes, simbolosDespues),
+                improductivos, inalcanzables, produccionesEpsilon, alternativasAgregadas, noTerminalesAuxiliares,
+                ciclosUnitarios, noTerminalesFusionados, nanos / 1e6);
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Resultado de ejecutar el algoritmo con una estrategia de orden:
+ * la gramática obtenida, su tamaño y el tiempo que tomó
+ * Si la ejecución agotó el presupuesto, trae la interrupción en lugar de la gramática.
+ */
+public class ResultadoEstrategia {
+    private final EstrategiaOrden estrategia;
+    private final Gramatica gramatica;
+    private final EliminacionInterrumpida interrupcion;
+    private final long nanos;
+
+    public ResultadoEstrategia(EstrategiaOrden estrategia, Gramatica gramatica, long nanos) {
+        this.estrategia = estrategia;
+        this.gramatica = gramatica;
+        this.interrupcion = null;
+        this.nanos = nanos;
+    }
+
+    public ResultadoEstrategia(EstrategiaOrden estrategia, EliminacionInterrumpida interrupcion, long nanos) {
+        this.estrategia = estrategia;
+        this.gramatica = null;
+        this.interrupcion = interrupcion;
+        this.nanos = nanos;
+    }
+
+    public EstrategiaOrden getEstrategia() {
+        return estrategia;
+    }
+
+    /**
+     * Gramática obtenida (null si la ejecución se interrumpió)
+     */
+    public Gramatica getGramatica() {
+        return gramatica;
+    }
+
+    /**
+     * Interrupción por presupuesto (null si la ejecución terminó)
+     */
+    public EliminacionInterrumpida getInterrupcion() {
+        return interrupcion;
+    }
+
+    public boolean isInterrumpida() {
+        return interrupcion != null;
+    }
+
+    /**
+     * No terminales del resultado (-1 si se interrumpió)
+     */
+    public int getNoTerminales() {
+        return gramatica != null ? gramatica.obtenerNoTerminales().length : -1;
+    }
+
+    /**
+     * Producciones del resultado, o las que tenía al interrumpirse
+     */
+    public long getProducciones() {
+        return gramatica != null ? gramatica.cantidadProducciones() : interrupcion.getProducciones();
+    }
+
+    /**
+     * Símbolos del resultado (-1 si se interrumpió)
+     */
+    public long getSimbolos() {
+        return gramatica != null ? gramatica.cantidadSimbolos() : -1;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    @Override
+    public String toString() {
+        if (interrupcion != null) {
+            return String.format("%-20s %s", estrategia.nombre(), interrupcion.getMessage());
+        }
+        return String.format("%-20s %6d no terminales %8d producciones %10d símbolos %10.3f ms",
+                estrategia.nombre(), getNoTerminales(), getProducciones(), getSimbolos(), nanos / 1e6);
+    }
+}
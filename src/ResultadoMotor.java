@@ -0,0 +1,43 @@
+/**
+ * Resultado de ejecutar un motor de eliminación: la gramática obtenida,
+ * su tamaño, cuántos no terminales nuevos creó y el tiempo que tomó
+ */
+public class ResultadoMotor {
+    private final MotorEliminacion motor;
+    private final Gramatica gramatica;
+    private final int noTerminalesOriginales;
+    private final long nanos;
+
+    public ResultadoMotor(MotorEliminacion motor, Gramatica gramatica, int noTerminalesOriginales, long nanos) {
+        this.motor = motor;
+        this.gramatica = gramatica;
+        this.noTerminalesOriginales = noTerminalesOriginales;
+        this.nanos = nanos;
+    }
+
+    public MotorEliminacion getMotor() {
+        return motor;
+    }
+
+    public Gramatica getGramatica() {
+        return gramatica;
+    }
+
+    public int getProducciones() {
+        return gramatica.cantidadProducciones();
+    }
+
+    public int getNoTerminalesNuevos() {
+        return gramatica.obtenerNoTerminales().length - noTerminalesOriginales;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-20s %8d producciones %6d no terminales nuevos %10.3f ms",
+                motor.nombre(), getProducciones(), getNoTerminalesNuevos(), nanos / 1e6);
+    }
+}
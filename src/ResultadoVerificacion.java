@@ -0,0 +1,74 @@
+/**
+ * Resultado de comparar dos gramáticas con VerificadorEquivalencia
+ */
+public class ResultadoVerificacion {
+    private final boolean exhaustiva;
+    private final int longitudMaxima;
+    private final long cadenas;
+    private final String contraejemplo;
+    private final boolean enOriginal;
+    private final long nanos;
+
+    ResultadoVerificacion(boolean exhaustiva, int longitudMaxima, long cadenas, String contraejemplo,
+                          boolean enOriginal, long nanos) {
+        this.exhaustiva = exhaustiva;
+        this.longitudMaxima = longitudMaxima;
+        this.cadenas = cadenas;
+        this.contraejemplo = contraejemplo;
+        this.enOriginal = enOriginal;
+        this.nanos = nanos;
+    }
+
+    /**
+     * Verdadero si no se encontró ninguna cadena que distinga las gramáticas
+     */
+    public boolean sinDiferencias() {
+        return contraejemplo == null;
+    }
+
+    /**
+     * Verdadero si se enumeraron todas las cadenas hasta la longitud máxima (y no una muestra)
+     */
+    public boolean isExhaustiva() {
+        return exhaustiva;
+    }
+
+    public int getLongitudMaxima() {
+        return longitudMaxima;
+    }
+
+    /**
+     * Cadenas comprobadas en ambas gramáticas (sin contar las descartadas por poda)
+     */
+    public long getCadenas() {
+        return cadenas;
+    }
+
+    /**
+     * Cadena que pertenece a una sola de las gramáticas ("ε" si es la vacía), o null
+     */
+    public String getContraejemplo() {
+        return contraejemplo;
+    }
+
+    /**
+     * Si hay contraejemplo: verdadero si pertenece a la original (y no a la transformada)
+     */
+    public boolean isEnOriginal() {
+        return enOriginal;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    @Override
+    public String toString() {
+        String alcance = exhaustiva ? "todas las cadenas de hasta " + longitudMaxima + " símbolos"
+                : "muestra de cadenas de hasta " + longitudMaxima + " símbolos";
+        String veredicto = contraejemplo == null ? "sin diferencias"
+                : "contraejemplo " + contraejemplo + " (solo en la "
+                + (enOriginal ? "original" : "transformada") + ")";
+        return String.format("%s: %s, %d cadenas en %.3f ms", alcance, veredicto, cadenas, nanos / 1e6);
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ * Resumen de un procesamiento por lotes: cuántas gramáticas y producciones
+ * de entrada se procesaron, cuántas fallaron y el rendimiento obtenido
+ */
+public class ResumenLotes {
+    private final int gramaticas;
+    private final long producciones;
+    private final int errores;
+    private final long nanos;
+
+    public ResumenLotes(int gramaticas, long producciones, int errores, long nanos) {
+        this.gramaticas = gramaticas;
+        this.producciones = producciones;
+        this.errores = errores;
+        this.nanos = nanos;
+    }
+
+    public int getGramaticas() {
+        return gramaticas;
+    }
+
+    public long getProducciones() {
+        return producciones;
+    }
+
+    public int getErrores() {
+        return errores;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public double getGramaticasPorSegundo() {
+        return nanos > 0 ? gramaticas / (nanos / 1e9) : 0;
+    }
+
+    public double getProduccionesPorSegundo() {
+        return nanos > 0 ? producciones / (nanos / 1e9) : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d gramáticas (%d producciones, %d con error) en %.3f s: %.1f gramáticas/s, %.1f producciones/s",
+                gramaticas, producciones, errores, nanos / 1e9, getGramaticasPorSegundo(), getProduccionesPorSegundo());
+    }
+}
@@ -0,0 +1,210 @@
+import java.util.*;
+
+/**
+ * Tabla predictiva LL(1) construida por AnalisisLL1
+ *
+ * Las celdas están en un único arreglo plano: la de (no terminal i, terminal t) es
+ * celdas[i * columnas + t] y guarda el número de la alternativa a aplicar, o -1.
+ * Las alternativas se guardan ya renumeradas (terminales 0 .. columnas-1, donde la
+ * última columna es $, y no terminales desde columnas) y sin ε, listas para un
+ * analizador que trabaje solo con enteros.
+ */
+public final class TablaLL1 {
+
+    /**
+     * Celda con más de una alternativa posible
+     */
+    public static final class Conflicto {
+        private final int noTerminal;
+        private final int terminal;
+        private final List<Integer> alternativas = new ArrayList<>();
+
+        Conflicto(int noTerminal, int terminal, int primera) {
+            this.noTerminal = noTerminal;
+            this.terminal = terminal;
+            alternativas.add(primera);
+        }
+
+        void agregar(int alternativa) {
+            alternativas.add(alternativa);
+        }
+
+        public int getNoTerminal() {
+            return noTerminal;
+        }
+
+        /**
+         * Id del terminal, o AnalisisLL1.FIN para $
+         */
+        public int getTerminal() {
+            return terminal;
+        }
+
+        /**
+         * Números de las alternativas en conflicto (la primera es la que queda en la celda)
+         */
+        public List<Integer> getAlternativas() {
+            return Collections.unmodifiableList(alternativas);
+        }
+    }
+
+    private final Gramatica gramatica;
+    private final int[] terminales;
+    private final int[] noTerminales;
+    private final int[] codigos;
+    private final int[][] alternativas;
+    private final int[] primeraAlternativa;
+    private final int[] celdas;
+    private final List<Conflicto> conflictos;
+
+    TablaLL1(Gramatica gramatica, int[] terminales, int[] noTerminales, int[] codigos, int[][] alternativas,
+             int[] primeraAlternativa, int[] celdas, List<Conflicto> conflictos) {
+        this.gramatica = gramatica;
+        this.terminales = terminales;
+        this.noTerminales = noTerminales;
+        this.codigos = codigos;
+        this.alternativas = alternativas;
+        this.primeraAlternativa = primeraAlternativa;
+        this.celdas = celdas;
+        this.conflictos = Collections.unmodifiableList(conflictos);
+    }
+
+    /**
+     * Verdadero si ninguna celda tiene más de una alternativa
+     */
+    public boolean esLL1() {
+        return conflictos.isEmpty();
+    }
+
+    public List<Conflicto> getConflictos() {
+        return conflictos;
+    }
+
+    /**
+     * Terminales más la columna de $
+     */
+    public int columnas() {
+        return terminales.length + 1;
+    }
+
+    public int cantidadNoTerminales() {
+        return noTerminales.length;
+    }
+
+    public int cantidadAlternativas() {
+        return alternativas.length;
+    }
+
+    /**
+     * Columna de un id de terminal (-1 si no aparece en la gramática)
+     */
+    public int columna(int terminal) {
+        if (terminal == AnalisisLL1.FIN) {
+            return terminales.length;
+        }
+        int codigo = terminal >= 0 && terminal < codigos.length ? codigos[terminal] : -1;
+        return codigo < terminales.length ? codigo : -1;
+    }
+
+    /**
+     * Alternativa para el no terminal i (por su posición) con el terminal en la columna dada, o -1
+     */
+    public int alternativa(int i, int columna) {
+        return celdas[i * columnas() + columna];
+    }
+
+    /**
+     * Símbolos renumerados de la alternativa (sin ε; no copiar ni modificar)
+     */
+    int[] cuerpo(int alternativa) {
+        return alternativas[alternativa];
+    }
+
+    /**
+     * Arreglo plano de celdas (no modificar)
+     */
+    int[] celdas() {
+        return celdas;
+    }
+
+    private int cabeza(int alternativa) {
+        int i = Arrays.binarySearch(primeraAlternativa, alternativa);
+        if (i < 0) {
+            return -i - 2;
+        }
+        // Si hay no terminales sin alternativas, varias posiciones empiezan en el mismo número
+        while (primeraAlternativa[i + 1] == alternativa) {
+            i++;
+        }
+        return i;
+    }
+
+    private String formatearCodigo(int codigo) {
+        if (codigo == terminales.length) {
+            return "$";
+        }
+        return gramatica.formatearSimbolo(codigo < terminales.length ? terminales[codigo]
+                : noTerminales[codigo - terminales.length - 1]);
+    }
+
+    /**
+     * La alternativa como "A -> α" (con "e" si es vacía)
+     */
+    public String formatearAlternativa(int alternativa) {
+        StringBuilder texto = new StringBuilder();
+        texto.append(gramatica.formatearSimbolo(noTerminales[cabeza(alternativa)])).append(" -> ");
+        if (alternativas[alternativa].length == 0) {
+            texto.append(TablaSimbolos.EPSILON);
+        }
+        for (int codigo : alternativas[alternativa]) {
+            texto.append(formatearCodigo(codigo));
+        }
+        return texto.toString();
+    }
+
+    /**
+     * Un conflicto como "A, a: A -> α | A -> β"
+     */
+    public String formatear(Conflicto conflicto) {
+        StringJoiner texto = new StringJoiner(" | ",
+                gramatica.formatearSimbolo(conflicto.noTerminal) + ", "
+                        + (conflicto.terminal == AnalisisLL1.FIN ? "$" : gramatica.formatearSimbolo(conflicto.terminal))
+                        + ": ", "");
+        for (int alternativa : conflicto.alternativas) {
+            texto.add(formatearAlternativa(alternativa));
+        }
+        return texto.toString();
+    }
+
+    /**
+     * Agrega una línea por celda ocupada ("A, a: A -> α") y después los conflictos
+     */
+    public void imprimir(StringBuilder salida) {
+        int columnas = columnas();
+        for (int i = 0; i < noTerminales.length; i++) {
+            for (int columna = 0; columna < columnas; columna++) {
+                int alternativa = celdas[i * columnas + columna];
+                if (alternativa >= 0) {
+                    salida.append(gramatica.formatearSimbolo(noTerminales[i])).append(", ")
+                            .append(formatearCodigo(columna)).append(": ")
+                            .append(formatearAlternativa(alternativa)).append(System.lineSeparator());
+                }
+            }
+        }
+        for (Conflicto conflicto : conflictos) {
+            salida.append("conflicto ").append(formatear(conflicto)).append(System.lineSeparator());
+        }
+    }
+
+    @Override
+    public String toString() {
+        int ocupadas = 0;
+        for (int celda : celdas) {
+            if (celda >= 0) {
+                ocupadas++;
+            }
+        }
+        return String.format("tabla LL(1): %d no terminales × %d terminales, %d celdas ocupadas, %d conflictos",
+                noTerminales.length, columnas(), ocupadas, conflictos.size());
+    }
+}
@@ -0,0 +1,247 @@
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+/**
+ * Crea los nodos de las producciones y comparte los que ya existen (hash-consing)
+ * Se comparten las concatenaciones y las hojas de un símbolo; las hojas leídas de la
+ * entrada no se buscan en la tabla, porque casi nunca se repiten.
+ *
+ * Hay una tabla por familia de tablas de símbolos (la de una gramática y sus copias),
+ * de modo que todas las versiones de una gramática comparten los mismos trozos.
+ * La tabla guarda los nodos con referencias débiles: un nodo que ya no está en ninguna
+ * gramática viva (por ejemplo, los intermedios de sustituciones descartadas o los de
+ * versiones viejas de una sesión de edición) se libera y su entrada se quita.
+ * Es segura para usar desde varios hilos, como las componentes que se eliminan en
+ * paralelo: está dividida en segmentos con un candado cada uno.
+ */
+public class TablaProducciones {
+
+    // Cantidad de segmentos (potencia de 2)
+    private static final int SEGMENTOS = 64;
+
+    private final Segmento[] segmentos = new Segmento[SEGMENTOS];
+
+    public TablaProducciones() {
+        for (int i = 0; i < SEGMENTOS; i++) {
+            segmentos[i] = new Segmento();
+        }
+    }
+
+    /**
+     * Devuelve el nodo ya existente con los mismos símbolos, o registra el dado
+     */
+    private Produccion compartir(Produccion nuevo) {
+        int hash = nuevo.hashCode() * 0x9E3779B9;
+        return segmentos[hash >>> 26].compartir(nuevo, hash);
+    }
+
+    /**
+     * Entrada de la tabla: referencia débil al nodo, con su hash y la siguiente de la cubeta
+     */
+    private static final class Entrada extends WeakReference<Produccion> {
+        final int hash;
+        Entrada siguiente;
+
+        Entrada(Produccion nodo, int hash, ReferenceQueue<Produccion> cola, Entrada siguiente) {
+            super(nodo, cola);
+            this.hash = hash;
+            this.siguiente = siguiente;
+        }
+    }
+
+    /**
+     * Tabla de dispersión con encadenamiento; las entradas de nodos liberados llegan a
+     * la cola y se quitan en el siguiente acceso
+     */
+    private static final class Segmento {
+        private final ReferenceQueue<Produccion> cola = new ReferenceQueue<>();
+        private Entrada[] cubetas = new Entrada[16];
+        private int cantidad;
+
+        synchronized Produccion compartir(Produccion nuevo, int hash) {
+            purgar();
+            int i = indice(hash, cubetas.length);
+            for (Entrada entrada = cubetas[i]; entrada != null; entrada = entrada.siguiente) {
+                if (entrada.hash == hash) {
+                    Produccion existente = entrada.get();
+                    if (existente != null && existente.equals(nuevo)) {
+                        return existente;
+                    }
+                }
+            }
+            cubetas[i] = new Entrada(nuevo, hash, cola, cubetas[i]);
+            if (++cantidad > cubetas.length - (cubetas.length >>> 2)) {
+                crecer();
+            }
+            return nuevo;
+        }
+
+        synchronized int tamano() {
+            purgar();
+            return cantidad;
+        }
+
+        private void purgar() {
+            for (Reference<? extends Produccion> liberada; (liberada = cola.poll()) != null; ) {
+                Entrada entrada = (Entrada) liberada;
+                int i = indice(entrada.hash, cubetas.length);
+                Entrada anterior = null;
+                for (Entrada actual = cubetas[i]; actual != null; anterior = actual, actual = actual.siguiente) {
+                    if (actual == entrada) {
+                        if (anterior == null) {
+                            cubetas[i] = actual.siguiente;
+                        } else {
+                            anterior.siguiente = actual.siguiente;
+                        }
+                        cantidad--;
+                        break;
+                    }
+                }
+            }
+        }
+
+        // Los bits altos del hash ya eligieron el segmento; la cubeta usa los bajos mezclados
+        private static int indice(int hash, int cubetas) {
+            return (hash ^ (hash >>> 16)) & (cubetas - 1);
+        }
+
+        private void crecer() {
+            Entrada[] nuevas = new Entrada[cubetas.length * 2];
+            for (Entrada entrada : cubetas) {
+                while (entrada != null) {
+                    Entrada siguiente = entrada.siguiente;
+                    int i = indice(entrada.hash, nuevas.length);
+                    entrada.siguiente = nuevas[i];
+                    nuevas[i] = entrada;
+                    entrada = siguiente;
+                }
+            }
+            cubetas = nuevas;
+        }
+    }
+
+    /**
+     * Producción de un solo símbolo
+     */
+    public Produccion hoja(int simbolo) {
+        return compartir(Produccion.hoja(new int[]{simbolo}, 0, 1));
+    }
+
+    /**
+     * Convierte un arreglo de símbolos en producción (una hoja con una copia del arreglo)
+     */
+    public Produccion produccion(int... simbolos) {
+        return produccion(simbolos, simbolos.length);
+    }
+
+    /**
+     * Convierte los primeros "largo" símbolos del arreglo en producción
+     */
+    public Produccion produccion(int[] simbolos, int largo) {
+        if (largo == 0) {
+            return Produccion.VACIA;
+        }
+        return largo == 1 ? hoja(simbolos[0]) : Produccion.hoja(Arrays.copyOf(simbolos, largo), 0, largo);
+    }
+
+    /**
+     * Producción sobre simbolos[desde .. hasta) sin copiarlos (el arreglo no debe cambiar después)
+     */
+    Produccion tramo(int[] simbolos, int desde, int hasta) {
+        if (hasta - desde <= 1) {
+            return hasta == desde ? Produccion.VACIA : hoja(simbolos[desde]);
+        }
+        return Produccion.hoja(simbolos, desde, hasta);
+    }
+
+    /**
+     * Devuelve prefijo·sufijo en O(1): un solo nodo que apunta a ambos
+     */
+    public Produccion concatenar(Produccion prefijo, Produccion sufijo) {
+        if (sufijo.esVacia()) {
+            return prefijo;
+        }
+        if (prefijo.esVacia()) {
+            return sufijo;
+        }
+        return compartir(Produccion.concatenacion(prefijo, sufijo));
+    }
+
+    /**
+     * Devuelve la producción con un símbolo más al final
+     */
+    public Produccion agregarAlFinal(Produccion produccion, int simbolo) {
+        return concatenar(produccion, hoja(simbolo));
+    }
+
+    /**
+     * La producción sin su primer símbolo
+     * Solo se crean nodos a lo largo del borde izquierdo; todo lo demás se comparte
+     */
+    public Produccion resto(Produccion produccion) {
+        if (produccion.esVacia()) {
+            throw new IndexOutOfBoundsException("Producción vacía");
+        }
+        // Bajar por el borde izquierdo hasta la hoja del primer símbolo
+        List<Produccion> borde = new ArrayList<>();
+        Produccion nodo = produccion;
+        while (!nodo.esHoja()) {
+            borde.add(nodo);
+            nodo = nodo.izquierda();
+        }
+        // Subir rearmando cada nodo con su hijo izquierdo ya recortado
+        Produccion resultado = nodo.restoDeHoja();
+        for (int k = borde.size() - 1; k >= 0; k--) {
+            resultado = concatenar(resultado, borde.get(k).derecha());
+        }
+        return resultado;
+    }
+
+    /**
+     * Cambia los símbolos desde "base" en adelante por reemplazos[simbolo - base]
+     * Solo se recrean los nodos que contienen alguno; los trozos repetidos se recrean una vez
+     */
+    public List<Produccion> reemplazarDesde(List<Produccion> producciones, int base, int[] reemplazos) {
+        Map<Produccion, Produccion> hechos = new IdentityHashMap<>();
+        List<Produccion> resultado = new ArrayList<>(producciones.size());
+        for (Produccion produccion : producciones) {
+            resultado.add(reemplazarDesde(produccion, base, reemplazos, hechos));
+        }
+        return resultado;
+    }
+
+    private Produccion reemplazarDesde(Produccion nodo, int base, int[] reemplazos, Map<Produccion, Produccion> hechos) {
+        if (nodo.maximo() < base) {
+            return nodo;
+        }
+        if (nodo.esHoja()) {
+            int[] simbolos = nodo.aArreglo();
+            for (int k = 0; k < simbolos.length; k++) {
+                if (simbolos[k] >= base) {
+                    simbolos[k] = reemplazos[simbolos[k] - base];
+                }
+            }
+            return produccion(simbolos, simbolos.length);
+        }
+        Produccion hecho = hechos.get(nodo);
+        if (hecho == null) {
+            hecho = concatenar(reemplazarDesde(nodo.izquierda(), base, reemplazos, hechos),
+                    reemplazarDesde(nodo.derecha(), base, reemplazos, hechos));
+            hechos.put(nodo, hecho);
+        }
+        return hecho;
+    }
+
+    /**
+     * Cantidad de nodos compartidos que siguen vivos
+     */
+    public int tamano() {
+        int total = 0;
+        for (Segmento segmento : segmentos) {
+            total += segmento.tamano();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,178 @@
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tabla de símbolos de una gramática
+ * Asigna a cada nombre de símbolo (terminal o no terminal) un entero denso,
+ * de modo que las producciones se puedan escribir como listas de enteros (ver Produccion)
+ *
+ * Los nombres se guardan en un registro que solo crece y que comparten todas
+ * las copias de la tabla; cada copia ve únicamente los primeros "tamano" ids.
+ * Por eso copiar() cuesta O(1): la copia solo escribe en el registro compartido
+ * mientras nadie más lo haya extendido, y si no, se separa con su propio registro.
+ */
+public class TablaSimbolos {
+
+    /**
+     * Nombre del símbolo que representa ε (la cadena vacía) en todas las gramáticas
+     */
+    static final char EPSILON = 'e';
+
+    /**
+     * Registro compartido de nombres (solo crece)
+     */
+    private static final class Registro {
+        // Nombre de cada símbolo, indexado por su id
+        volatile String[] nombres;
+        int tamano;
+
+        // Id de cada nombre ya registrado
+        final Map<String, Integer> ids;
+
+        // Caché para los símbolos de un solo carácter ASCII (el caso más común)
+        final int[] idsPorCaracter;
+
+        // Celdas compartidas de las producciones escritas con estos símbolos
+        final TablaProducciones producciones;
+
+        Registro(int capacidad, TablaProducciones producciones) {
+            this.nombres = new String[Math.max(capacidad, 16)];
+            this.tamano = 0;
+            this.ids = new ConcurrentHashMap<>();
+            this.idsPorCaracter = new int[128];
+            Arrays.fill(idsPorCaracter, -1);
+            this.producciones = producciones;
+        }
+    }
+
+    private Registro registro;
+
+    // Cantidad de ids visibles para esta copia
+    private int tamano;
+
+    public TablaSimbolos() {
+        this(new Registro(16, new TablaProducciones()), 0);
+    }
+
+    private TablaSimbolos(Registro registro, int tamano) {
+        this.registro = registro;
+        this.tamano = tamano;
+    }
+
+    /**
+     * Registra un nombre y devuelve su id
+     * Si el nombre ya existía devuelve el id asignado anteriormente
+     */
+    public int registrar(String nombre) {
+        if (nombre.length() == 1 && nombre.charAt(0) < 128) {
+            return registrar(nombre.charAt(0));
+        }
+        int id = buscar(nombre);
+        if (id >= 0) {
+            return id;
+        }
+        return agregarNombre(nombre);
+    }
+
+    /**
+     * Registra un símbolo de un solo carácter sin crear un String si ya existe
+     */
+    public int registrar(char caracter) {
+        if (caracter < 128) {
+            int id = registro.idsPorCaracter[caracter];
+            if (id >= 0 && id < tamano) {
+                return id;
+            }
+            id = buscar(String.valueOf(caracter));
+            return id >= 0 ? id : agregarNombre(String.valueOf(caracter));
+        }
+        return registrar(String.valueOf(caracter));
+    }
+
+    private int agregarNombre(String nombre) {
+        synchronized (registro) {
+            if (registro.tamano != tamano) {
+                // Otra copia ya extendió el registro: esta copia se separa
+                separar();
+            }
+            Registro r = registro;
+            if (r.tamano == r.nombres.length) {
+                r.nombres = Arrays.copyOf(r.nombres, r.tamano * 2);
+            }
+            int id = r.tamano;
+            r.nombres[id] = nombre;
+            r.ids.put(nombre, id);
+            if (nombre.length() == 1 && nombre.charAt(0) < 128) {
+                r.idsPorCaracter[nombre.charAt(0)] = id;
+            }
+            r.tamano++;
+            tamano = r.tamano;
+            return id;
+        }
+    }
+
+    /**
+     * Copia los nombres visibles a un registro propio
+     */
+    private void separar() {
+        Registro propio = new Registro(tamano * 2, registro.producciones);
+        String[] nombres = registro.nombres;
+        for (int id = 0; id < tamano; id++) {
+            String nombre = nombres[id];
+            propio.nombres[id] = nombre;
+            propio.ids.put(nombre, id);
+            if (nombre.length() == 1 && nombre.charAt(0) < 128) {
+                propio.idsPorCaracter[nombre.charAt(0)] = id;
+            }
+        }
+        propio.tamano = tamano;
+        registro = propio;
+    }
+
+    /**
+     * Busca el id de un nombre, o -1 si no está registrado
+     */
+    public int buscar(String nombre) {
+        Integer id = registro.ids.get(nombre);
+        return id != null && id < tamano ? id : -1;
+    }
+
+    /**
+     * Verifica si un nombre ya está registrado
+     */
+    public boolean contiene(String nombre) {
+        return buscar(nombre) >= 0;
+    }
+
+    /**
+     * Obtiene el nombre de un símbolo a partir de su id
+     */
+    public String nombre(int id) {
+        if (id < 0 || id >= tamano) {
+            throw new IndexOutOfBoundsException("Símbolo inexistente: " + id);
+        }
+        return registro.nombres[id];
+    }
+
+    /**
+     * Cantidad de símbolos registrados
+     */
+    public int tamano() {
+        return tamano;
+    }
+
+    /**
+     * Tabla con la que se crean (y comparten) las producciones de esta familia de símbolos
+     */
+    public TablaProducciones producciones() {
+        return registro.producciones;
+    }
+
+    /**
+     * Crea una copia independiente de la tabla (mismos ids) en O(1)
+     * Los símbolos que se registren después en una no aparecen en la otra
+     */
+    public TablaSimbolos copiar() {
+        return new TablaSimbolos(registro, tamano);
+    }
+}
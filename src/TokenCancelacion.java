@@ -0,0 +1,15 @@
+/**
+ * Permite cancelar una eliminación en curso desde otro hilo
+ * El algoritmo lo consulta después de cada Ai (y antes de cada sustitución)
+ */
+public class TokenCancelacion {
+    private volatile boolean cancelado;
+
+    public void cancelar() {
+        cancelado = true;
+    }
+
+    public boolean estaCancelado() {
+        return cancelado;
+    }
+}
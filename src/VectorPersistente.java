@@ -0,0 +1,119 @@
+/**
+ * Vector persistente (inmutable) indexado por enteros
+ *
+ * Es un árbol de 32 ramas por nivel: cambiar una posición copia solo el camino
+ * desde la raíz (O(log32 n) nodos) y comparte el resto con la versión anterior.
+ * Las posiciones que nunca se asignaron valen null.
+ *
+ * Cada nodo guarda, en su última posición, el dueño que puede modificarlo en el lugar
+ * (null si nadie): así una Gramatica que todavía no compartió su versión agrega no
+ * terminales sin copiar caminos, igual que hace con las listas de producciones.
+ */
+final class VectorPersistente<T> {
+    private static final int BITS = 5;
+    private static final int ANCHO = 1 << BITS;
+    private static final int MASCARA = ANCHO - 1;
+
+    private static final VectorPersistente<Object> VACIO = new VectorPersistente<>(0, 0, new Object[ANCHO + 1]);
+
+    // Una más que la mayor posición asignada
+    private final int tamano;
+
+    // Desplazamiento del nivel de la raíz (0 si la raíz es una hoja)
+    private final int desplazamiento;
+
+    private final Object[] raiz;
+
+    private VectorPersistente(int tamano, int desplazamiento, Object[] raiz) {
+        this.tamano = tamano;
+        this.desplazamiento = desplazamiento;
+        this.raiz = raiz;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> VectorPersistente<T> vacio() {
+        return (VectorPersistente<T>) VACIO;
+    }
+
+    int tamano() {
+        return tamano;
+    }
+
+    @SuppressWarnings("unchecked")
+    T obtener(int indice) {
+        if (indice < 0 || indice >= tamano) {
+            return null;
+        }
+        Object[] nodo = raiz;
+        for (int d = desplazamiento; d > 0; d -= BITS) {
+            nodo = (Object[]) nodo[(indice >>> d) & MASCARA];
+            if (nodo == null) {
+                return null;
+            }
+        }
+        return (T) nodo[indice & MASCARA];
+    }
+
+    /**
+     * Devuelve una versión con el valor dado en la posición indicada
+     */
+    VectorPersistente<T> con(int indice, T valor) {
+        return con(indice, valor, null);
+    }
+
+    /**
+     * Como con(indice, valor), pero los nodos nuevos quedan a nombre de "dueno" y los que
+     * ya eran suyos se modifican en el lugar (las versiones anteriores que los comparten
+     * cambian también, así que el dueño debe renovarse antes de compartir una versión)
+     */
+    VectorPersistente<T> con(int indice, T valor, Object dueno) {
+        if (indice < 0) {
+            throw new IndexOutOfBoundsException("Índice negativo: " + indice);
+        }
+        Object[] nuevaRaiz = raiz;
+        int nuevoDesplazamiento = desplazamiento;
+
+        // Agregar niveles hasta que el índice quepa
+        while (((long) indice >>> (nuevoDesplazamiento + BITS)) > 0) {
+            Object[] nivel = new Object[ANCHO + 1];
+            nivel[ANCHO] = dueno;
+            nivel[0] = nuevaRaiz;
+            nuevaRaiz = nivel;
+            nuevoDesplazamiento += BITS;
+        }
+
+        nuevaRaiz = asignar(nuevaRaiz, nuevoDesplazamiento, indice, valor, dueno);
+        return new VectorPersistente<>(Math.max(tamano, indice + 1), nuevoDesplazamiento, nuevaRaiz);
+    }
+
+    /**
+     * Devuelve una versión con el valor agregado al final
+     */
+    VectorPersistente<T> agregar(T valor) {
+        return con(tamano, valor, null);
+    }
+
+    VectorPersistente<T> agregar(T valor, Object dueno) {
+        return con(tamano, valor, dueno);
+    }
+
+    private static Object[] asignar(Object[] nodo, int desplazamiento, int indice, Object valor, Object dueno) {
+        Object[] copia;
+        if (nodo == null) {
+            copia = new Object[ANCHO + 1];
+            copia[ANCHO] = dueno;
+        } else if (dueno != null && nodo[ANCHO] == dueno) {
+            copia = nodo;
+        } else {
+            copia = nodo.clone();
+            copia[ANCHO] = dueno;
+        }
+        if (desplazamiento == 0) {
+            copia[indice & MASCARA] = valor;
+        } else {
+            int rama = (indice >>> desplazamiento) & MASCARA;
+            copia[rama] = asignar((Object[]) copia[rama], desplazamiento - BITS, indice, valor, dueno);
+        }
+        return copia;
+    }
+}
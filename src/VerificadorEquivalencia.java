@@ -0,0 +1,437 @@
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Comprueba que dos gramáticas (la original y la transformada) generan las mismas
+ * cadenas hasta una longitud dada, y si no, devuelve una cadena que las distingue
+ *
+ * Modos:
+ * - Exhaustivo (muestras = 0): enumera en profundidad todas las cadenas del alfabeto
+ *   común de hasta longitudMaxima símbolos. Cada cadena extiende los conjuntos de Earley
+ *   de su prefijo (ReconocedorEarley), y un prefijo que ninguna de las dos gramáticas
+ *   puede continuar se descarta con todas sus extensiones.
+ * - Por muestreo (muestras > 0): comprueba cadenas derivadas al azar de cada gramática
+ *   y cadenas aleatorias del alfabeto, todas de hasta longitudMaxima símbolos. Con la
+ *   misma semilla se generan las mismas cadenas.
+ *
+ * El trabajo se reparte en un ForkJoinPool (por defecto, el común): en el modo exhaustivo
+ * una tarea por prefijo corto y en el de muestreo una por bloque de muestras. Cuando una
+ * tarea encuentra un contraejemplo, las demás se detienen.
+ * verificar() no modifica el verificador, así que varios hilos pueden usarlo a la vez.
+ */
+public class VerificadorEquivalencia {
+
+    // Muestras por tarea en el modo por muestreo
+    private static final int MUESTRAS_POR_TAREA = 256;
+
+    // Expansiones máximas al derivar una cadena al azar (evita ciclos como A -> A)
+    private static final int MAX_EXPANSIONES = 10_000;
+
+    private int longitudMaxima = 6;
+    private int muestras = 0;
+    private long semilla = 42;
+    private ForkJoinPool pool;
+
+    public void setLongitudMaxima(int longitudMaxima) {
+        if (longitudMaxima < 0) {
+            throw new IllegalArgumentException("La longitud máxima no puede ser negativa");
+        }
+        this.longitudMaxima = longitudMaxima;
+    }
+
+    /**
+     * Cantidad de cadenas al azar a comprobar; con 0 (valor por defecto) se enumeran todas
+     */
+    public void setMuestras(int muestras) {
+        if (muestras < 0) {
+            throw new IllegalArgumentException("La cantidad de muestras no puede ser negativa");
+        }
+        this.muestras = muestras;
+    }
+
+    public void setSemilla(long semilla) {
+        this.semilla = semilla;
+    }
+
+    /**
+     * Pool en el que se reparten las comprobaciones (null = ForkJoinPool.commonPool())
+     */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Configuración, para la clave de MotorVerificado
+     */
+    String clave() {
+        return "verificar(" + longitudMaxima + "," + muestras + "," + semilla + ")";
+    }
+
+    /**
+     * Busca una cadena que pertenezca a una sola de las gramáticas
+     */
+    public ResultadoVerificacion verificar(Gramatica original, Gramatica transformada) {
+        long inicio = System.nanoTime();
+        String[] alfabeto = alfabeto(original, transformada);
+        Map<String, Integer> numeros = new HashMap<>();
+        for (int t = 0; t < alfabeto.length; t++) {
+            numeros.put(alfabeto[t], t);
+        }
+        Busqueda busqueda = new Busqueda(alfabeto, new ReconocedorEarley(original, numeros),
+                new ReconocedorEarley(transformada, numeros));
+
+        ForkJoinPool destino = pool != null ? pool : ForkJoinPool.commonPool();
+        if (muestras == 0) {
+            // Se divide hasta tener unas 8 tareas por hilo
+            int profundidad = 0;
+            long tareas = 1;
+            while (profundidad < longitudMaxima && alfabeto.length > 1 && tareas < 8L * destino.getParallelism()) {
+                tareas *= alfabeto.length;
+                profundidad++;
+            }
+            destino.invoke(new Enumeracion(busqueda, new int[0], profundidad));
+        } else {
+            Derivador derivadorOriginal = new Derivador(original, numeros);
+            Derivador derivadorTransformada = new Derivador(transformada, numeros);
+            List<Muestreo> tareas = new ArrayList<>();
+            for (int desde = 0; desde < muestras; desde += MUESTRAS_POR_TAREA) {
+                tareas.add(new Muestreo(busqueda, derivadorOriginal, derivadorTransformada,
+                        desde, Math.min(muestras, desde + MUESTRAS_POR_TAREA)));
+            }
+            destino.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(tareas);
+                }
+            });
+        }
+
+        Contraejemplo contraejemplo = busqueda.encontrado.get();
+        return new ResultadoVerificacion(muestras == 0, longitudMaxima, busqueda.cadenas.sum(),
+                contraejemplo != null ? contraejemplo.texto : null,
+                contraejemplo != null && contraejemplo.enOriginal, System.nanoTime() - inicio);
+    }
+
+    /**
+     * Terminales de ambas gramáticas (sin ε), en orden de aparición
+     */
+    private static String[] alfabeto(Gramatica... gramaticas) {
+        Set<String> terminales = new LinkedHashSet<>();
+        for (Gramatica gramatica : gramaticas) {
+            TablaSimbolos simbolos = gramatica.simbolos();
+            for (int noTerminal : gramatica.obtenerNoTerminales()) {
+                for (Produccion produccion : gramatica.obtenerProducciones(noTerminal)) {
+                    produccion.recorrer(simbolo -> {
+                        String nombre = simbolos.nombre(simbolo);
+                        if (!gramatica.contieneNoTerminal(simbolo)
+                                && !nombre.equals(String.valueOf(TablaSimbolos.EPSILON))) {
+                            terminales.add(nombre);
+                        }
+                    });
+                }
+            }
+        }
+        return terminales.toArray(new String[0]);
+    }
+
+    private static final class Contraejemplo {
+        final String texto;
+        final boolean enOriginal;
+
+        Contraejemplo(String texto, boolean enOriginal) {
+            this.texto = texto;
+            this.enOriginal = enOriginal;
+        }
+    }
+
+    /**
+     * Estado compartido por las tareas: reconocedores, contador y primer contraejemplo
+     */
+    private static final class Busqueda {
+        final String[] alfabeto;
+        final ReconocedorEarley original;
+        final ReconocedorEarley transformada;
+        final LongAdder cadenas = new LongAdder();
+        final AtomicReference<Contraejemplo> encontrado = new AtomicReference<>();
+
+        Busqueda(String[] alfabeto, ReconocedorEarley original, ReconocedorEarley transformada) {
+            this.alfabeto = alfabeto;
+            this.original = original;
+            this.transformada = transformada;
+        }
+
+        boolean terminada() {
+            return encontrado.get() != null;
+        }
+
+        /**
+         * Compara la cadena actual en ambos recorridos; devuelve falso si las distingue
+         */
+        boolean comparar(ReconocedorEarley.Recorrido a, ReconocedorEarley.Recorrido b, int[] cadena, int largo) {
+            cadenas.increment();
+            if (a.acepta() == b.acepta()) {
+                return true;
+            }
+            StringBuilder texto = new StringBuilder();
+            for (int k = 0; k < largo; k++) {
+                String nombre = alfabeto[cadena[k]];
+                texto.append(nombre.length() == 1 ? nombre : "<" + nombre + ">");
+            }
+            encontrado.compareAndSet(null, new Contraejemplo(largo == 0 ? "ε" : texto.toString(), a.acepta()));
+            return false;
+        }
+    }
+
+    /**
+     * Enumera las cadenas que empiezan con el prefijo; hasta la profundidad de división
+     * crea una subtarea por cada símbolo siguiente
+     */
+    private final class Enumeracion extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Busqueda busqueda;
+        private final int[] prefijo;
+        private final int profundidadDivision;
+
+        Enumeracion(Busqueda busqueda, int[] prefijo, int profundidadDivision) {
+            this.busqueda = busqueda;
+            this.prefijo = prefijo;
+            this.profundidadDivision = profundidadDivision;
+        }
+
+        @Override
+        protected void compute() {
+            if (busqueda.terminada()) {
+                return;
+            }
+            ReconocedorEarley.Recorrido a = busqueda.original.recorrido();
+            ReconocedorEarley.Recorrido b = busqueda.transformada.recorrido();
+            int[] cadena = Arrays.copyOf(prefijo, longitudMaxima);
+            for (int token : prefijo) {
+                a.avanzar(token);
+                b.avanzar(token);
+            }
+            if (!a.vivo() && !b.vivo()) {
+                return;
+            }
+            if (prefijo.length < profundidadDivision) {
+                if (!busqueda.comparar(a, b, cadena, prefijo.length)) {
+                    return;
+                }
+                List<Enumeracion> hijas = new ArrayList<>(busqueda.alfabeto.length);
+                for (int t = 0; t < busqueda.alfabeto.length; t++) {
+                    int[] siguiente = Arrays.copyOf(prefijo, prefijo.length + 1);
+                    siguiente[prefijo.length] = t;
+                    hijas.add(new Enumeracion(busqueda, siguiente, profundidadDivision));
+                }
+                invokeAll(hijas);
+            } else {
+                enumerar(a, b, cadena, prefijo.length);
+            }
+        }
+
+        /**
+         * Recorrido en profundidad desde la cadena actual (de "largo" símbolos)
+         */
+        private boolean enumerar(ReconocedorEarley.Recorrido a, ReconocedorEarley.Recorrido b, int[] cadena, int largo) {
+            if (busqueda.terminada() || !busqueda.comparar(a, b, cadena, largo)) {
+                return false;
+            }
+            if (largo == longitudMaxima) {
+                return true;
+            }
+            for (int t = 0; t < busqueda.alfabeto.length; t++) {
+                a.avanzar(t);
+                b.avanzar(t);
+                cadena[largo] = t;
+                boolean seguir = (!a.vivo() && !b.vivo()) || enumerar(a, b, cadena, largo + 1);
+                a.retroceder();
+                b.retroceder();
+                if (!seguir) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Comprueba las muestras [desde, hasta): cada una sale de la original, de la
+     * transformada o del alfabeto, con un generador que depende solo de la semilla y del número
+     */
+    private final class Muestreo extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Busqueda busqueda;
+        private final Derivador original;
+        private final Derivador transformada;
+        private final int desde;
+        private final int hasta;
+
+        Muestreo(Busqueda busqueda, Derivador original, Derivador transformada, int desde, int hasta) {
+            this.busqueda = busqueda;
+            this.original = original;
+            this.transformada = transformada;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            ReconocedorEarley.Recorrido a = busqueda.original.recorrido();
+            ReconocedorEarley.Recorrido b = busqueda.transformada.recorrido();
+            int[] cadena = new int[longitudMaxima];
+            Random aleatorio = new Random(semilla ^ (desde * 0x9E3779B97F4A7C15L));
+            for (int muestra = desde; muestra < hasta && !busqueda.terminada(); muestra++) {
+                int largo;
+                switch (muestra % 3) {
+                    case 0:
+                        largo = original.derivar(aleatorio, cadena, longitudMaxima);
+                        break;
+                    case 1:
+                        largo = transformada.derivar(aleatorio, cadena, longitudMaxima);
+                        break;
+                    default:
+                        largo = busqueda.alfabeto.length == 0 ? 0 : aleatorio.nextInt(longitudMaxima + 1);
+                        for (int k = 0; k < largo; k++) {
+                            cadena[k] = aleatorio.nextInt(busqueda.alfabeto.length);
+                        }
+                }
+                if (largo < 0) {
+                    // La gramática no genera cadenas tan cortas (o la derivación no terminó)
+                    continue;
+                }
+                a.reiniciar();
+                b.reiniciar();
+                for (int k = 0; k < largo && (a.vivo() || b.vivo()); k++) {
+                    a.avanzar(cadena[k]);
+                    b.avanzar(cadena[k]);
+                }
+                if (!busqueda.comparar(a, b, cadena, largo)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Genera derivaciones al azar de una gramática, sin pasarse de una longitud dada
+     * (solo elige alternativas cuya cadena más corta todavía entra)
+     */
+    private static final class Derivador {
+        private final int[][] alternativas;
+        private final int[] primeraAlternativa;
+        private final int[] minimoAlternativa;
+        private final int[] minimo;
+
+        // Símbolos: terminal t (>= 0) o no terminal i (-1 - i)
+        Derivador(Gramatica gramatica, Map<String, Integer> alfabeto) {
+            TablaSimbolos simbolos = gramatica.simbolos();
+            int[] noTerminales = gramatica.obtenerNoTerminales();
+            int n = noTerminales.length;
+            Map<Integer, Integer> posiciones = new HashMap<>();
+            for (int i = 0; i < n; i++) {
+                posiciones.put(noTerminales[i], i);
+            }
+            List<int[]> lista = new ArrayList<>();
+            primeraAlternativa = new int[n + 1];
+            for (int i = 0; i < n; i++) {
+                primeraAlternativa[i] = lista.size();
+                for (Produccion produccion : gramatica.obtenerProducciones(noTerminales[i])) {
+                    int[] cuerpo = produccion.aArreglo();
+                    int largo = 0;
+                    for (int simbolo : cuerpo) {
+                        Integer posicion = posiciones.get(simbolo);
+                        if (posicion != null) {
+                            cuerpo[largo++] = -1 - posicion;
+                        } else if (!simbolos.nombre(simbolo).equals(String.valueOf(TablaSimbolos.EPSILON))) {
+                            cuerpo[largo++] = alfabeto.get(simbolos.nombre(simbolo));
+                        }
+                    }
+                    lista.add(Arrays.copyOf(cuerpo, largo));
+                }
+            }
+            primeraAlternativa[n] = lista.size();
+            alternativas = lista.toArray(new int[0][]);
+
+            // Longitud de la cadena más corta de cada no terminal (punto fijo)
+            minimo = new int[n];
+            minimoAlternativa = new int[alternativas.length];
+            Arrays.fill(minimo, Integer.MAX_VALUE);
+            boolean cambio = true;
+            while (cambio) {
+                cambio = false;
+                for (int i = 0; i < n; i++) {
+                    for (int a = primeraAlternativa[i]; a < primeraAlternativa[i + 1]; a++) {
+                        minimoAlternativa[a] = longitudMinima(alternativas[a]);
+                        if (minimoAlternativa[a] < minimo[i]) {
+                            minimo[i] = minimoAlternativa[a];
+                            cambio = true;
+                        }
+                    }
+                }
+            }
+        }
+
+        private int longitudMinima(int[] cuerpo) {
+            long total = 0;
+            for (int simbolo : cuerpo) {
+                total += simbolo >= 0 ? 1 : minimo[-1 - simbolo];
+            }
+            return (int) Math.min(total, Integer.MAX_VALUE);
+        }
+
+        /**
+         * Escribe en cadena una derivación al azar del inicial de hasta "maximo" símbolos
+         * y devuelve su longitud, o -1 si no hay ninguna tan corta
+         */
+        int derivar(Random aleatorio, int[] cadena, int maximo) {
+            if (minimo.length == 0 || minimo[0] > maximo) {
+                return -1;
+            }
+            int[] pila = new int[16];
+            int tope = 0;
+            pila[tope++] = -1;
+            // Longitud mínima de lo que queda en la pila
+            int pendiente = minimo[0];
+            int largo = 0;
+            int[] candidatas = new int[16];
+            for (int expansiones = 0; tope > 0; expansiones++) {
+                if (expansiones > MAX_EXPANSIONES) {
+                    return -1;
+                }
+                int simbolo = pila[--tope];
+                if (simbolo >= 0) {
+                    cadena[largo++] = simbolo;
+                    pendiente--;
+                    continue;
+                }
+                int i = -1 - simbolo;
+                pendiente -= minimo[i];
+                // Alternativas que todavía entran en lo que falta
+                int libre = maximo - largo - pendiente;
+                int cantidad = 0;
+                for (int a = primeraAlternativa[i]; a < primeraAlternativa[i + 1]; a++) {
+                    if (minimoAlternativa[a] <= libre) {
+                        if (cantidad == candidatas.length) {
+                            candidatas = Arrays.copyOf(candidatas, cantidad * 2);
+                        }
+                        candidatas[cantidad++] = a;
+                    }
+                }
+                int[] cuerpo = alternativas[candidatas[aleatorio.nextInt(cantidad)]];
+                if (tope + cuerpo.length > pila.length) {
+                    pila = Arrays.copyOf(pila, Math.max(pila.length * 2, tope + cuerpo.length));
+                }
+                for (int k = cuerpo.length - 1; k >= 0; k--) {
+                    pila[tope++] = cuerpo[k];
+                    pendiente += cuerpo[k] >= 0 ? 1 : minimo[-1 - cuerpo[k]];
+                }
+            }
+            return largo;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+/**
+ * Gramática de solo lectura sobre un archivo de ArchivoGramatica mapeado en memoria
+ *
+ * Crear la vista comprueba el CRC del archivo y que las secciones sean coherentes
+ * (índices crecientes y dentro de su sección, ids de no terminales válidos y sin
+ * repetir), así que después los accesos no validan nada; los enteros se leen del mapeo
+ * cuando se piden y los nombres se decodifican uno por uno. Los no
+ * terminales se identifican por su posición (0 .. cantidadNoTerminales-1) y las
+ * alternativas por su número en la arena (0 .. cantidadProducciones-1).
+ * Para modificarla, aGramatica() la copia a una Gramatica.
+ */
+public final class VistaGramatica {
+
+    private final ByteBuffer datos;
+    private final int cantidadSimbolos;
+    private final int cantidadNoTerminales;
+    private final int cantidadProducciones;
+    private final int longitudArena;
+
+    private final IntBuffer inicioNombres;
+    private final int desdeNombres;
+    private final IntBuffer noTerminales;
+    private final IntBuffer primeraAlternativa;
+    private final IntBuffer inicioAlternativa;
+    private final IntBuffer arena;
+
+    VistaGramatica(ByteBuffer datos, String origen) {
+        this.datos = datos;
+        if (datos.capacity() < ArchivoGramatica.ENCABEZADO || datos.getInt(0) != ArchivoGramatica.MAGIA) {
+            throw new IllegalArgumentException("No es un archivo de gramática: " + origen);
+        }
+        if (datos.getInt(4) != ArchivoGramatica.VERSION) {
+            throw new IllegalArgumentException("Versión de archivo de gramática no soportada (" + datos.getInt(4)
+                    + ", se esperaba " + ArchivoGramatica.VERSION + "): " + origen);
+        }
+        cantidadSimbolos = datos.getInt(8);
+        cantidadNoTerminales = datos.getInt(12);
+        cantidadProducciones = datos.getInt(16);
+        longitudArena = datos.getInt(20);
+        int bytesNombres = datos.getInt(24);
+
+        long posicion = ArchivoGramatica.ENCABEZADO;
+        long desdeNombresLargo = posicion + 4L * (cantidadSimbolos + 1);
+        long desdeNoTerminales = desdeNombresLargo + ((bytesNombres + 3L) & ~3L);
+        long desdePrimera = desdeNoTerminales + 4L * cantidadNoTerminales;
+        long desdeInicio = desdePrimera + 4L * (cantidadNoTerminales + 1);
+        long desdeArena = desdeInicio + 4L * (cantidadProducciones + 1);
+        long fin = desdeArena + 4L * longitudArena;
+        if (cantidadSimbolos < 0 || cantidadNoTerminales < 0 || cantidadProducciones < 0 || longitudArena < 0
+                || bytesNombres < 0 || fin != datos.capacity()) {
+            throw new IllegalArgumentException("Archivo de gramática dañado (tamaño " + datos.capacity()
+                    + ", se esperaba " + fin + "): " + origen);
+        }
+        if (ArchivoGramatica.calcularCrc(datos) != datos.getInt(ArchivoGramatica.POSICION_CRC)) {
+            throw new IllegalArgumentException("Archivo de gramática dañado (el CRC no coincide): " + origen);
+        }
+        desdeNombres = (int) desdeNombresLargo;
+        inicioNombres = enteros(posicion, cantidadSimbolos + 1);
+        noTerminales = enteros(desdeNoTerminales, cantidadNoTerminales);
+        primeraAlternativa = enteros(desdePrimera, cantidadNoTerminales + 1);
+        inicioAlternativa = enteros(desdeInicio, cantidadProducciones + 1);
+        arena = enteros(desdeArena, longitudArena);
+
+        validarIndice(inicioNombres, bytesNombres, "los nombres", origen);
+        validarIndice(primeraAlternativa, cantidadProducciones, "las alternativas de cada no terminal", origen);
+        validarIndice(inicioAlternativa, longitudArena, "la arena", origen);
+        boolean[] esNoTerminal = new boolean[cantidadSimbolos];
+        for (int i = 0; i < cantidadNoTerminales; i++) {
+            int noTerminal = noTerminales.get(i);
+            if (noTerminal < 0 || noTerminal >= cantidadSimbolos || esNoTerminal[noTerminal]) {
+                throw new IllegalArgumentException("Archivo de gramática dañado: no terminal " + noTerminal
+                        + " inválido o repetido: " + origen);
+            }
+            esNoTerminal[noTerminal] = true;
+        }
+        for (int k = 0; k < longitudArena; k++) {
+            int simbolo = arena.get(k);
+            if (simbolo < 0 || simbolo >= cantidadSimbolos) {
+                throw new IllegalArgumentException("Archivo de gramática dañado: símbolo " + simbolo + ": " + origen);
+            }
+        }
+    }
+
+    /**
+     * Un índice de inicios debe empezar en 0, no decrecer y terminar en el tamaño de su sección
+     */
+    private static void validarIndice(IntBuffer indice, int total, String seccion, String origen) {
+        int anterior = 0;
+        for (int k = 0; k < indice.limit(); k++) {
+            int valor = indice.get(k);
+            if (valor < anterior || (k == 0 && valor != 0)) {
+                throw new IllegalArgumentException("Archivo de gramática dañado: el índice de " + seccion
+                        + " no es creciente en la posición " + k + ": " + origen);
+            }
+            anterior = valor;
+        }
+        if (anterior != total) {
+            throw new IllegalArgumentException("Archivo de gramática dañado: el índice de " + seccion
+                    + " termina en " + anterior + " y no en " + total + ": " + origen);
+        }
+    }
+
+    private IntBuffer enteros(long desde, int cantidad) {
+        return datos.duplicate().position((int) desde).limit((int) desde + 4 * cantidad).slice()
+                .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    public int cantidadSimbolos() {
+        return cantidadSimbolos;
+    }
+
+    public int cantidadNoTerminales() {
+        return cantidadNoTerminales;
+    }
+
+    public int cantidadProducciones() {
+        return cantidadProducciones;
+    }
+
+    /**
+     * Total de símbolos en los lados derechos
+     */
+    public long cantidadSimbolosProducciones() {
+        return longitudArena;
+    }
+
+    /**
+     * Nombre del símbolo (se decodifica en cada llamada)
+     */
+    public String nombre(int simbolo) {
+        int desde = inicioNombres.get(simbolo);
+        int largo = inicioNombres.get(simbolo + 1) - desde;
+        byte[] bytes = new byte[largo];
+        datos.duplicate().position(desdeNombres + desde).get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Id de símbolo del no terminal en la posición i
+     */
+    public int noTerminal(int i) {
+        return noTerminales.get(i);
+    }
+
+    /**
+     * Número de la primera alternativa del no terminal en la posición i
+     * (las suyas son primeraAlternativa(i) .. primeraAlternativa(i+1)-1)
+     */
+    public int primeraAlternativa(int i) {
+        return primeraAlternativa.get(i);
+    }
+
+    public int cantidadAlternativas(int i) {
+        return primeraAlternativa.get(i + 1) - primeraAlternativa.get(i);
+    }
+
+    public int longitud(int alternativa) {
+        return inicioAlternativa.get(alternativa + 1) - inicioAlternativa.get(alternativa);
+    }
+
+    /**
+     * Símbolo en la posición k de la alternativa
+     */
+    public int simbolo(int alternativa, int k) {
+        int desde = inicioAlternativa.get(alternativa);
+        if (k < 0 || desde + k >= inicioAlternativa.get(alternativa + 1)) {
+            throw new IndexOutOfBoundsException("Posición inválida: " + k);
+        }
+        return arena.get(desde + k);
+    }
+
+    /**
+     * Copia la vista a una Gramatica modificable (los ids de los símbolos se conservan)
+     * Los lados derechos se copian de una vez a un arreglo que comparten todas las producciones.
+     */
+    public Gramatica aGramatica() {
+        Gramatica gramatica = new Gramatica();
+        TablaSimbolos simbolos = gramatica.simbolos();
+        for (int simbolo = 0; simbolo < cantidadSimbolos; simbolo++) {
+            if (simbolos.registrar(nombre(simbolo)) != simbolo) {
+                throw new IllegalArgumentException("Archivo de gramática dañado: el símbolo "
+                        + simbolo + " está repetido");
+            }
+        }
+        int[] inicio = new int[cantidadProducciones + 1];
+        inicioAlternativa.get(0, inicio);
+        int[] simbolosArena = new int[longitudArena];
+        arena.get(0, simbolosArena);
+
+        TablaProducciones tabla = simbolos.producciones();
+        for (int i = 0; i < cantidadNoTerminales; i++) {
+            int noTerminal = noTerminales.get(i);
+            int desde = primeraAlternativa.get(i);
+            int hasta = primeraAlternativa.get(i + 1);
+            Produccion[] alternativas = new Produccion[hasta - desde];
+            for (int a = desde; a < hasta; a++) {
+                alternativas[a - desde] = tabla.tramo(simbolosArena, inicio[a], inicio[a + 1]);
+            }
+            gramatica.agregarProduccion(noTerminal, Arrays.asList(alternativas));
+        }
+        return gramatica;
+    }
+
+    private String formatearSimbolo(int simbolo) {
+        String nombre = nombre(simbolo);
+        return nombre.length() == 1 ? nombre : "<" + nombre + ">";
+    }
+
+    /**
+     * Agrega la gramática en el mismo formato que Gramatica.imprimir
+     */
+    public void imprimir(StringBuilder salida) {
+        String[] formateados = new String[cantidadSimbolos];
+        for (int simbolo = 0; simbolo < cantidadSimbolos; simbolo++) {
+            formateados[simbolo] = formatearSimbolo(simbolo);
+        }
+        for (int i = 0; i < cantidadNoTerminales; i++) {
+            StringJoiner alternativas = new StringJoiner(" ");
+            for (int a = primeraAlternativa.get(i); a < primeraAlternativa.get(i + 1); a++) {
+                StringBuilder alternativa = new StringBuilder();
+                for (int k = inicioAlternativa.get(a); k < inicioAlternativa.get(a + 1); k++) {
+                    alternativa.append(formateados[arena.get(k)]);
+                }
+                alternativas.add(alternativa);
+            }
+            salida.append(formateados[noTerminales.get(i)]).append(" -> ")
+                    .append(alternativas).append(System.lineSeparator());
+        }
+    }
+}
@@ -0,0 +1,195 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Invariantes del formato binario de ArchivoGramatica: una gramática escrita se lee igual,
+ * y cualquier archivo dañado (un byte cambiado, truncado, o con ids fuera de rango aunque
+ * el CRC coincida) se rechaza con IllegalArgumentException
+ */
+class ArchivoGramaticaTest {
+
+    @TempDir
+    Path carpeta;
+
+    @Test
+    void idaYVueltaDeGramaticasAleatorias() throws IOException {
+        Random azar = new Random(42);
+        Path archivo = carpeta.resolve("gramatica.bin");
+        for (int i = 0; i < 500; i++) {
+            Gramatica gramatica = aleatoria(azar);
+            ArchivoGramatica.escribir(gramatica, archivo);
+            VistaGramatica vista = ArchivoGramatica.leer(archivo);
+
+            assertEquals(gramatica.simbolos().tamano(), vista.cantidadSimbolos());
+            assertEquals(gramatica.obtenerNoTerminales().length, vista.cantidadNoTerminales());
+            assertEquals(gramatica.cantidadProducciones(), vista.cantidadProducciones());
+            assertEquals(gramatica.cantidadSimbolos(), vista.cantidadSimbolosProducciones());
+            String esperada = texto(gramatica);
+            StringBuilder leida = new StringBuilder();
+            vista.imprimir(leida);
+            assertEquals(esperada, leida.toString());
+            assertEquals(esperada, texto(vista.aGramatica()));
+        }
+    }
+
+    @Test
+    void unByteCambiadoSeRechaza() throws IOException {
+        byte[] original = escribirPequena();
+        Path archivo = carpeta.resolve("danado.bin");
+        for (int posicion = 0; posicion < original.length; posicion++) {
+            byte[] datos = original.clone();
+            datos[posicion] ^= 0x5A;
+            Files.write(archivo, datos);
+            assertThrows(IllegalArgumentException.class, () -> ArchivoGramatica.leer(archivo),
+                    "byte " + posicion);
+        }
+    }
+
+    @Test
+    void unArchivoTruncadoSeRechaza() throws IOException {
+        byte[] original = escribirPequena();
+        Path archivo = carpeta.resolve("truncado.bin");
+        for (int largo = 0; largo < original.length; largo++) {
+            Files.write(archivo, Arrays.copyOf(original, largo));
+            assertThrows(IllegalArgumentException.class, () -> ArchivoGramatica.leer(archivo),
+                    "largo " + largo);
+        }
+    }
+
+    @Test
+    void otraVersionSeRechaza() throws IOException {
+        rechazaConCrcValido(datos -> datos.putInt(4, ArchivoGramatica.VERSION + 1));
+    }
+
+    @Test
+    void noTerminalesFueraDeRangoORepetidosSeRechazan() throws IOException {
+        rechazaConCrcValido(datos -> datos.putInt(desdeNoTerminales(datos), simbolos(datos)));
+        rechazaConCrcValido(datos -> datos.putInt(desdeNoTerminales(datos), -1));
+        rechazaConCrcValido(datos -> {
+            int desde = desdeNoTerminales(datos);
+            datos.putInt(desde + 4, datos.getInt(desde));
+        });
+    }
+
+    @Test
+    void simbolosFueraDeRangoEnLaArenaSeRechazan() throws IOException {
+        rechazaConCrcValido(datos -> datos.putInt(desdeArena(datos), simbolos(datos)));
+        rechazaConCrcValido(datos -> datos.putInt(datos.capacity() - 4, -1));
+    }
+
+    @Test
+    void indicesIncoherentesSeRechazan() throws IOException {
+        // Inicio de alternativa que decrece, que no empieza en 0 y que no termina en la arena
+        rechazaConCrcValido(datos -> {
+            int desde = desdeArena(datos) - 4 * (datos.getInt(16) + 1);
+            int segundo = datos.getInt(desde + 4);
+            datos.putInt(desde + 4, datos.getInt(desde + 8));
+            datos.putInt(desde + 8, segundo);
+        });
+        rechazaConCrcValido(datos -> datos.putInt(desdeArena(datos) - 4 * (datos.getInt(16) + 1), 1));
+        rechazaConCrcValido(datos -> datos.putInt(desdeArena(datos) - 4, datos.getInt(20) - 1));
+        // Primera alternativa del último no terminal más allá del total
+        rechazaConCrcValido(datos -> datos.putInt(desdeNoTerminales(datos) + 4 * datos.getInt(12) + 4,
+                datos.getInt(16) + 1));
+    }
+
+    /**
+     * Aplica el cambio a una gramática chica, recalcula el CRC y comprueba que se rechace
+     */
+    private void rechazaConCrcValido(Consumer<ByteBuffer> cambio) throws IOException {
+        ByteBuffer datos = ByteBuffer.wrap(escribirPequena()).order(ByteOrder.LITTLE_ENDIAN);
+        cambio.accept(datos);
+        datos.putInt(ArchivoGramatica.POSICION_CRC, ArchivoGramatica.calcularCrc(datos));
+        Path archivo = carpeta.resolve("incoherente.bin");
+        Files.write(archivo, datos.array());
+        assertThrows(IllegalArgumentException.class, () -> ArchivoGramatica.leer(archivo));
+    }
+
+    private byte[] escribirPequena() throws IOException {
+        Gramatica gramatica = new Gramatica();
+        gramatica.agregarProduccionNormalizada("S -> Sa | <Expr>b | c");
+        gramatica.agregarProduccionNormalizada("<Expr> -> <Expr>+<Ñandú> | e");
+        gramatica.agregarProduccionNormalizada("<Ñandú> -> (S) | i");
+        Path archivo = carpeta.resolve("pequena.bin");
+        ArchivoGramatica.escribir(gramatica, archivo);
+        return Files.readAllBytes(archivo);
+    }
+
+    private static int simbolos(ByteBuffer datos) {
+        return datos.getInt(8);
+    }
+
+    private static int desdeNoTerminales(ByteBuffer datos) {
+        return ArchivoGramatica.ENCABEZADO + 4 * (simbolos(datos) + 1) + ((datos.getInt(24) + 3) & ~3);
+    }
+
+    private static int desdeArena(ByteBuffer datos) {
+        int noTerminales = datos.getInt(12);
+        return desdeNoTerminales(datos) + 4 * noTerminales + 4 * (noTerminales + 1) + 4 * (datos.getInt(16) + 1);
+    }
+
+    /**
+     * Entre 1 y 8 no terminales (de una letra, entre ángulos y con nombres no ASCII) con
+     * 1 a 4 alternativas de hasta 5 símbolos; a veces ε
+     */
+    private static Gramatica aleatoria(Random azar) {
+        int cantidad = 1 + azar.nextInt(8);
+        String[] noTerminales = new String[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            switch (azar.nextInt(3)) {
+                case 0:
+                    noTerminales[i] = String.valueOf((char) ('A' + i));
+                    break;
+                case 1:
+                    noTerminales[i] = "<N" + i + ">";
+                    break;
+                default:
+                    noTerminales[i] = "<Ñ" + i + "ü>";
+                    break;
+            }
+        }
+        String terminales = "abcdfgh+*()0123";
+        Gramatica gramatica = new Gramatica();
+        for (String noTerminal : noTerminales) {
+            StringJoiner alternativas = new StringJoiner(" | ");
+            int cantidadAlternativas = 1 + azar.nextInt(4);
+            for (int a = 0; a < cantidadAlternativas; a++) {
+                int largo = azar.nextInt(6);
+                if (largo == 0) {
+                    alternativas.add(String.valueOf(TablaSimbolos.EPSILON));
+                    continue;
+                }
+                StringBuilder alternativa = new StringBuilder();
+                for (int k = 0; k < largo; k++) {
+                    if (azar.nextInt(3) == 0) {
+                        alternativa.append(noTerminales[azar.nextInt(cantidad)]);
+                    } else {
+                        alternativa.append(terminales.charAt(azar.nextInt(terminales.length())));
+                    }
+                }
+                alternativas.add(alternativa);
+            }
+            gramatica.agregarProduccionNormalizada(noTerminal + " -> " + alternativas);
+        }
+        return gramatica;
+    }
+
+    private static String texto(Gramatica gramatica) {
+        StringBuilder salida = new StringBuilder();
+        gramatica.imprimir(salida);
+        return salida.toString();
+    }
+}